@@ -2,6 +2,18 @@ plugins {
     id("java")
     id("org.springframework.boot") version "3.5.0"
     id("io.spring.dependency-management") version "1.1.7"
+    id("org.graalvm.buildtools.native") version "0.10.6" apply false
+}
+
+// Fast-startup build: ./gradlew bootJar -Paot runs Spring AOT (processAot) and packages the
+// generated bean definitions in the jar; start it with -Dspring.aot.enabled=true and the prod
+// profile. Only the AOT processing is used, no native image is built.
+if (project.hasProperty("aot")) {
+    apply(plugin = "org.graalvm.buildtools.native")
+    // Bean definitions are fixed at build time, so build them for the profile the jar runs with
+    tasks.withType<org.springframework.boot.gradle.tasks.aot.ProcessAot>().configureEach {
+        args("--spring.profiles.active=prod")
+    }
 }
 
 group = "org.example"
@@ -17,6 +29,22 @@ repositories {
     mavenCentral()
 }
 
+// Load-test tooling (synthetic data generator, HTTP load scenario) lives in its own
+// source set so it never ends up in the application jar.
+sourceSets {
+    create("loadtest") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+val loadtestImplementation: Configuration by configurations.getting {
+    extendsFrom(configurations.implementation.get())
+}
+val loadtestRuntimeOnly: Configuration by configurations.getting {
+    extendsFrom(configurations.runtimeOnly.get())
+}
+
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
@@ -33,7 +61,23 @@ dependencies {
     annotationProcessor("org.projectlombok:lombok")
 
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
-    runtimeOnly("org.postgresql:postgresql")
+    // Compile scope for LISTEN/NOTIFY (PGConnection) in cluster cache invalidation
+    implementation("org.postgresql:postgresql")
+
+    // Second-level cache for reference data (JCache backed by an in-process Ehcache)
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.ehcache:ehcache::jakarta")
+    runtimeOnly("org.glassfish.jaxb:jaxb-runtime")
+
+    // Metrics, including Hibernate statistics
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+
+    // Non-blocking read path (streaming nearby/search/menu endpoints)
+    implementation("org.springframework:spring-r2dbc")
+    implementation("io.projectreactor:reactor-core")
+    runtimeOnly("org.postgresql:r2dbc-postgresql")
+    implementation("io.r2dbc:r2dbc-pool")
 
     // DB Migrations
     implementation("org.flywaydb:flyway-core:9.22.0")
@@ -50,4 +94,75 @@ dependencies {
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+tasks.register<JavaExec>("generateData") {
+    group = "load test"
+    description = "Bulk-loads synthetic restaurants and menus into DB_URL using COPY. Pass options with --args."
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass = "org.example.menuapi.loadtest.SyntheticDataGenerator"
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "load test"
+    description = "Runs the scripted load scenario against a running instance. Pass options with --args."
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass = "org.example.menuapi.loadtest.MenuApiLoadTest"
+}
+
+tasks.register<JavaExec>("uuidBenchmark") {
+    group = "load test"
+    description = "Compares insert throughput and index size of UUIDv4 and UUIDv7 primary keys. Pass options with --args."
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass = "org.example.menuapi.loadtest.UuidIndexBenchmark"
+}
+
+tasks.register<JavaExec>("partitionBenchmark") {
+    group = "load test"
+    description = "Compares menu fetch latency and vacuum cost of the partitioned menu tables with unpartitioned copies. Pass options with --args."
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass = "org.example.menuapi.loadtest.PartitionBenchmark"
+}
+
+tasks.register<JavaExec>("startupBenchmark") {
+    group = "load test"
+    description = "Measures time-to-first-request of the boot jar with and without the fast-startup options. Pass options with --args."
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass = "org.example.menuapi.loadtest.StartupBenchmark"
+    dependsOn(tasks.bootJar)
+}
+
+// Class Data Sharing archive for the boot jar. The jar is extracted (CDS needs a plain
+// classpath of jars), then a training run starts the application with the prod profile,
+// exits once the context is refreshed and dumps every loaded class to build/cds/application.jsa.
+// The training run connects to the database, so DB_URL/DB_USERNAME/DB_PASSWORD must be set.
+val cdsDirectory = layout.buildDirectory.dir("cds")
+val javaLauncher = javaToolchains.launcherFor {
+    languageVersion = JavaLanguageVersion.of(21)
+}
+
+val extractBootJar by tasks.registering(Exec::class) {
+    group = "build"
+    description = "Extracts the boot jar into build/cds for CDS training."
+    dependsOn(tasks.bootJar)
+    doFirst {
+        delete(cdsDirectory)
+        executable = javaLauncher.get().executablePath.asFile.absolutePath
+        args("-Djarmode=tools", "-jar", tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+            "extract", "--destination", cdsDirectory.get().asFile.absolutePath)
+    }
+}
+
+tasks.register<Exec>("cdsArchive") {
+    group = "build"
+    description = "Trains and writes a CDS archive (build/cds/application.jsa) for the extracted boot jar."
+    dependsOn(extractBootJar)
+    doFirst {
+        val directory = cdsDirectory.get().asFile
+        workingDir = directory
+        executable = javaLauncher.get().executablePath.asFile.absolutePath
+        val aotArgs = if (project.hasProperty("aot")) listOf("-Dspring.aot.enabled=true") else emptyList()
+        args(listOf("-XX:ArchiveClassesAtExit=application.jsa", "-Dspring.context.exit=onRefresh") + aotArgs +
+            listOf("-jar", tasks.bootJar.get().archiveFileName.get(), "--spring.profiles.active=prod"))
+    }
+}
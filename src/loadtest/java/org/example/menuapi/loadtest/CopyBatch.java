@@ -0,0 +1,81 @@
+package org.example.menuapi.loadtest;
+
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Buffers CSV rows per table and streams them to Postgres with one {@code COPY} per table.
+ * Tables are flushed in the order they were declared, so parents must be declared before
+ * the tables that reference them.
+ */
+final class CopyBatch {
+
+    private final Map<String, String> columnsByTable = new LinkedHashMap<>();
+    private final Map<String, StringBuilder> rowsByTable = new LinkedHashMap<>();
+    private final Map<String, Long> countsByTable = new LinkedHashMap<>();
+
+    CopyBatch table(String table, String columns) {
+        columnsByTable.put(table, columns);
+        rowsByTable.put(table, new StringBuilder());
+        countsByTable.put(table, 0L);
+        return this;
+    }
+
+    void row(String table, Object... values) {
+        StringBuilder rows = rowsByTable.get(table);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                rows.append(',');
+            }
+            appendValue(rows, values[i]);
+        }
+        rows.append('\n');
+        countsByTable.merge(table, 1L, Long::sum);
+    }
+
+    /**
+     * Copies every buffered table and clears the buffers. Row counts keep accumulating
+     * across flushes.
+     */
+    void flush(CopyManager copyManager) throws SQLException, IOException {
+        for (Map.Entry<String, StringBuilder> entry : rowsByTable.entrySet()) {
+            StringBuilder rows = entry.getValue();
+            if (rows.isEmpty()) {
+                continue;
+            }
+            String table = entry.getKey();
+            copyManager.copyIn(
+                    "COPY " + table + " (" + columnsByTable.get(table) + ") FROM STDIN WITH (FORMAT csv)",
+                    new StringReader(rows.toString()));
+            rows.setLength(0);
+        }
+    }
+
+    Map<String, Long> counts() {
+        return countsByTable;
+    }
+
+    /**
+     * In CSV format an unquoted empty field is NULL, so every non-null value is quoted.
+     */
+    private static void appendValue(StringBuilder rows, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        rows.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                rows.append('"');
+            }
+            rows.append(c);
+        }
+        rows.append('"');
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.menuapi.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of latency samples (microseconds) for one operation. Each worker owns its
+ * own recorders, so recording needs no synchronisation; recorders are merged at the end.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+    private long shed;
+
+    void record(long micros) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = micros;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    /**
+     * Request rejected by the server's concurrency limit (503); not a latency sample
+     */
+    void shed() {
+        shed++;
+    }
+
+    void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.samples[i]);
+        }
+        errors += other.errors;
+        shed += other.shed;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    long shedCount() {
+        return shed;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds; sorts the samples in place.
+     */
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        Arrays.sort(samples, 0, size);
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return samples[Math.max(0, rank - 1)] / 1000.0;
+    }
+}
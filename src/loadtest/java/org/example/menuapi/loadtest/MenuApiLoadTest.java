@@ -0,0 +1,365 @@
+package org.example.menuapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Scripted load scenario against a running instance. A fixed number of closed-loop workers
+ * pick operations from a weighted mix and record latency after a warm-up period; the run
+ * ends with throughput and latency percentiles per operation.
+ *
+ * <pre>
+ * ./gradlew loadTest --args="--base-url=http://localhost:8080 --concurrency=64 --duration-seconds=120"
+ * </pre>
+ *
+ * Options: {@code --base-url} (default http://localhost:8080), {@code --concurrency}
+ * (default 32), {@code --warmup-seconds} (default 10), {@code --duration-seconds}
+ * (default 60), {@code --seed} (default 7) and {@code --mix}, a comma separated list of
+ * {@code operation:weight} pairs (default {@code onboard:1,search:3,nearby:3,menu-stream:3};
+ * {@code menu} fetches the full menu document, {@code availability} toggles a random dish
+ * in or out of stock, {@code dish-click} reports a click on a random dish and {@code popular}
+ * fetches a restaurant's popular dishes).
+ * Requests rejected by the server's concurrency limit (503 with {@code Retry-After}) are
+ * reported as shed, not as errors or latency samples; any other 503 is an error. Workers
+ * send their next request right away, so the offered load stays the same while the server
+ * sheds; with {@code --honour-retry-after} they wait for the {@code Retry-After} delay
+ * instead, like well-behaved clients.
+ * Menu, availability, dish-click and popular operations pick restaurants and dishes sampled from the database, so they need
+ * {@code --url}/{@code --username}/{@code --password} or DB_URL/DB_USERNAME/DB_PASSWORD.
+ */
+public final class MenuApiLoadTest {
+
+    @FunctionalInterface
+    private interface Operation {
+        HttpRequest request(Worker worker) throws Exception;
+    }
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private List<String> tinyIds = List.of();
+    private List<String[]> dishes = List.of();
+    private boolean honourRetryAfter;
+
+    private MenuApiLoadTest(URI baseUri) {
+        this.baseUri = baseUri;
+        operations.put("onboard", this::onboard);
+        operations.put("search", this::search);
+        operations.put("nearby", this::nearby);
+        operations.put("menu-stream", this::menuStream);
+        operations.put("menu", this::menu);
+        operations.put("availability", this::availability);
+        operations.put("dish-click", this::dishClick);
+        operations.put("popular", this::popular);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Args options = Args.parse(args);
+        MenuApiLoadTest loadTest = new MenuApiLoadTest(URI.create(options.get("base-url", "http://localhost:8080")));
+        String mix = options.get("mix", "onboard:1,search:3,nearby:3,menu-stream:3");
+        loadTest.honourRetryAfter = options.getBoolean("honour-retry-after");
+        if (mix.contains("menu") || mix.contains("popular")) {
+            loadTest.tinyIds = sampleTinyIds(options, 10_000);
+        }
+        if (mix.contains("availability") || mix.contains("dish-click")) {
+            loadTest.dishes = sampleDishes(options, 10_000);
+        }
+        loadTest.run(
+                options.getInt("concurrency", 32),
+                Duration.ofSeconds(options.getInt("warmup-seconds", 10)),
+                Duration.ofSeconds(options.getInt("duration-seconds", 60)),
+                options.getLong("seed", 7),
+                mix);
+    }
+
+    private static List<String> sampleTinyIds(Args options, int limit) throws SQLException {
+        List<String> tinyIds = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(
+                options.getOrEnv("url", "DB_URL"),
+                options.getOrEnv("username", "DB_USERNAME"),
+                options.getOrEnv("password", "DB_PASSWORD"));
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT tiny_id FROM restaurant ORDER BY random() LIMIT ?")) {
+            statement.setInt(1, limit);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    tinyIds.add(rs.getString(1));
+                }
+            }
+        }
+        if (tinyIds.isEmpty()) {
+            throw new IllegalStateException("No restaurants to fetch menus for; run generateData first");
+        }
+        return tinyIds;
+    }
+
+    /**
+     * (tiny ID, dish ID) pairs of dishes in a few hundred restaurants, so toggles concentrate
+     * on restaurants the way a dinner rush does
+     */
+    private static List<String[]> sampleDishes(Args options, int limit) throws SQLException {
+        List<String[]> dishes = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(
+                options.getOrEnv("url", "DB_URL"),
+                options.getOrEnv("username", "DB_USERNAME"),
+                options.getOrEnv("password", "DB_PASSWORD"));
+             PreparedStatement statement = connection.prepareStatement("""
+                     SELECT r.tiny_id, d.id
+                     FROM (SELECT id, tiny_id FROM restaurant ORDER BY random() LIMIT 200) r
+                     JOIN dish d ON d.restaurant_id = r.id
+                     LIMIT ?
+                     """)) {
+            statement.setInt(1, limit);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    dishes.add(new String[]{rs.getString(1), rs.getString(2)});
+                }
+            }
+        }
+        if (dishes.isEmpty()) {
+            throw new IllegalStateException("No dishes to toggle; run generateData first");
+        }
+        return dishes;
+    }
+
+    private void run(int concurrency, Duration warmup, Duration duration, long seed, String mix) throws Exception {
+        List<String> schedule = parseMix(mix);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long runEnd = warmupEnd + duration.toNanos();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        System.out.printf("Running %s with %d workers: %ds warm-up, %ds measured%n",
+                mix, concurrency, warmup.toSeconds(), duration.toSeconds());
+
+        List<Worker> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                Random random = new Random(seed + i);
+                Worker worker = new Worker(random, new SyntheticData(random, " " + runId + "-" + i));
+                workers.add(worker);
+                futures.add(executor.submit(() -> worker.loop(client, schedule, warmupEnd, runEnd)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        report(workers, duration);
+    }
+
+    private HttpRequest onboard(Worker worker) throws Exception {
+        SyntheticData.Restaurant restaurant = worker.data.nextRestaurant();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("restaurantName", restaurant.restaurantName());
+        body.put("addressLine1", restaurant.addressLine1());
+        body.put("city", restaurant.city().name());
+        body.put("state", restaurant.city().state());
+        body.put("pincode", restaurant.pincode());
+        body.put("latitude", restaurant.latitude());
+        body.put("longitude", restaurant.longitude());
+        body.put("uiTemplate", restaurant.uiTemplate());
+        body.put("cuisineTypes", restaurant.cuisineTypes());
+        body.put("timings", restaurant.timings().stream()
+                .map(timing -> {
+                    Map<String, Object> t = new LinkedHashMap<>();
+                    t.put("dayOfWeek", timing.dayOfWeek().name());
+                    t.put("openTime", timing.openTime());
+                    t.put("closeTime", timing.closeTime());
+                    return t;
+                })
+                .toList());
+
+        return HttpRequest.newBuilder(baseUri.resolve("/api/restaurants/onboard"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest search(Worker worker) {
+        SyntheticData.Restaurant restaurant = worker.data.nextRestaurant();
+        // Mostly name fragments, sometimes a whole city
+        String term = worker.random.nextInt(4) == 0
+                ? restaurant.city().name()
+                : restaurant.restaurantName().split(" ")[0];
+        return get("/api/restaurants/stream/search?limit=100&q=" + URLEncoder.encode(term, StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest nearby(Worker worker) {
+        SyntheticData.Restaurant restaurant = worker.data.nextRestaurant();
+        return get("/api/restaurants/stream/nearby?limit=100&radiusKm=" + (1 + worker.random.nextInt(5))
+                + "&latitude=" + restaurant.latitude() + "&longitude=" + restaurant.longitude());
+    }
+
+    private HttpRequest menuStream(Worker worker) {
+        return get("/api/restaurants/stream/" + tinyIds.get(worker.random.nextInt(tinyIds.size())) + "/menu");
+    }
+
+    private HttpRequest menu(Worker worker) {
+        return get("/api/restaurants/" + tinyIds.get(worker.random.nextInt(tinyIds.size())) + "/menu");
+    }
+
+    private HttpRequest availability(Worker worker) {
+        String[] dish = dishes.get(worker.random.nextInt(dishes.size()));
+        return HttpRequest.newBuilder(baseUri.resolve("/api/restaurants/" + dish[0] + "/dishes/" + dish[1] + "/availability"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"available\":" + worker.random.nextBoolean() + "}"))
+                .build();
+    }
+
+    private HttpRequest dishClick(Worker worker) {
+        String[] dish = dishes.get(worker.random.nextInt(dishes.size()));
+        return HttpRequest.newBuilder(baseUri.resolve("/api/restaurants/" + dish[0] + "/events"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"type\":\"dish_click\",\"dishId\":\"" + dish[1] + "\"}"))
+                .build();
+    }
+
+    private HttpRequest popular(Worker worker) {
+        return get("/api/restaurants/" + tinyIds.get(worker.random.nextInt(tinyIds.size())) + "/dishes/popular");
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    /**
+     * Expands {@code onboard:3,search:1} into a list where each operation appears once per
+     * unit of weight, so picking a uniformly random element honours the weights.
+     */
+    private List<String> parseMix(String mix) {
+        List<String> schedule = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            String name = parts[0];
+            if (!operations.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown operation '" + name + "', expected one of " + operations.keySet());
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            for (int i = 0; i < weight; i++) {
+                schedule.add(name);
+            }
+        }
+        return schedule;
+    }
+
+    private void report(List<Worker> workers, Duration duration) {
+        Map<String, LatencyRecorder> merged = new LinkedHashMap<>();
+        for (String name : operations.keySet()) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            workers.forEach(worker -> recorder.merge(worker.recorder(name)));
+            if (recorder.count() > 0 || recorder.errors() > 0 || recorder.shedCount() > 0) {
+                merged.put(name, recorder);
+            }
+        }
+        LatencyRecorder total = new LatencyRecorder();
+        merged.values().forEach(total::merge);
+        merged.put("total", total);
+
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.println();
+        System.out.printf("%-10s %10s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "shed", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        merged.forEach((name, recorder) -> System.out.printf("%-10s %10d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                recorder.count(),
+                recorder.errors(),
+                recorder.shedCount(),
+                recorder.count() / seconds,
+                recorder.percentileMillis(50),
+                recorder.percentileMillis(90),
+                recorder.percentileMillis(99),
+                recorder.percentileMillis(99.9),
+                recorder.percentileMillis(100)));
+    }
+
+    private final class Worker {
+        private final Random random;
+        private final SyntheticData data;
+        private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+
+        private Worker(Random random, SyntheticData data) {
+            this.random = random;
+            this.data = data;
+        }
+
+        private LatencyRecorder recorder(String name) {
+            return recorders.computeIfAbsent(name, key -> new LatencyRecorder());
+        }
+
+        private void loop(HttpClient client, List<String> schedule, long warmupEnd, long runEnd) {
+            while (System.nanoTime() < runEnd) {
+                String name = schedule.get(random.nextInt(schedule.size()));
+                long start = System.nanoTime();
+                boolean ok;
+                long retryAfterSeconds = -1;
+                try {
+                    HttpRequest request = operations.get(name).request(this);
+                    start = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    ok = response.statusCode() < 400;
+                    if (response.statusCode() == 503) {
+                        retryAfterSeconds = response.headers().firstValueAsLong("Retry-After").orElse(-1);
+                    }
+                } catch (Exception e) {
+                    ok = false;
+                }
+                long end = System.nanoTime();
+                if (retryAfterSeconds >= 0) {
+                    if (start >= warmupEnd) {
+                        recorder(name).shed();
+                    }
+                    if (honourRetryAfter) {
+                        backOff(retryAfterSeconds);
+                    }
+                    continue;
+                }
+                if (start < warmupEnd) {
+                    continue;
+                }
+                if (ok) {
+                    recorder(name).record((end - start) / 1000);
+                } else {
+                    recorder(name).error();
+                }
+            }
+        }
+
+        private void backOff(long seconds) {
+            try {
+                Thread.sleep(Duration.ofSeconds(Math.min(seconds, 5)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
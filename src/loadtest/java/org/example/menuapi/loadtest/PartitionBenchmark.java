@@ -0,0 +1,214 @@
+package org.example.menuapi.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compares the hash-partitioned customization tables with unpartitioned copies shaped like
+ * the pre-partitioning schema (no restaurant_id; options found through group and dish), on a
+ * database seeded with generateData.
+ * <p>
+ * Reports menu customization fetch latency per restaurant for both layouts, the number of
+ * partitions the partitioned query touches, and the cost of vacuuming after churn confined
+ * to one partition's restaurants: vacuuming the whole unpartitioned table versus only the
+ * affected partition, which is what autovacuum does for partitioned tables.
+ *
+ * <pre>
+ * ./gradlew generateData --args="--restaurants=100000"
+ * ./gradlew partitionBenchmark --args="--samples=2000"
+ * </pre>
+ *
+ * Options: {@code --samples} restaurants to fetch (default 1000), {@code --churn-restaurants}
+ * restaurants whose options are rewritten before vacuuming (default 200), {@code --keep} to
+ * leave the unpartitioned copies in place, and {@code --url}/{@code --username}/
+ * {@code --password} which default to DB_URL/DB_USERNAME/DB_PASSWORD. Churn rewrites rows
+ * with their current values, so menu data is unchanged.
+ */
+public final class PartitionBenchmark {
+
+    private static final String FLAT_QUERY = """
+            SELECT g.id, g.group_name, o.id, o.option_name, o.extra_price
+            FROM dish d
+            JOIN bench_flat_customization_group g ON g.dish_id = d.id
+            JOIN bench_flat_customization_option o ON o.group_id = g.id
+            WHERE d.restaurant_id = ?
+            """;
+
+    private static final String PARTITIONED_QUERY = """
+            SELECT g.id, g.group_name, o.id, o.option_name, o.extra_price
+            FROM customization_group g
+            JOIN customization_option o ON o.restaurant_id = g.restaurant_id AND o.group_id = g.id
+            WHERE g.restaurant_id = ?
+            """;
+
+    private PartitionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Args options = Args.parse(args);
+        int samples = options.getInt("samples", 1000);
+        int churnRestaurants = options.getInt("churn-restaurants", 200);
+
+        try (Connection connection = DriverManager.getConnection(
+                options.getOrEnv("url", "DB_URL"),
+                options.getOrEnv("username", "DB_USERNAME"),
+                options.getOrEnv("password", "DB_PASSWORD"))) {
+            createFlatCopies(connection);
+
+            List<UUID> restaurantIds = restaurantIds(connection,
+                    "SELECT DISTINCT restaurant_id FROM customization_group ORDER BY random() LIMIT ?", samples);
+            if (restaurantIds.isEmpty()) {
+                throw new IllegalStateException("No customization groups to fetch; run generateData first");
+            }
+
+            System.out.printf("%nPartitions scanned by the partitioned query: %d of 16 per table%n",
+                    partitionsScanned(connection, restaurantIds.getFirst()));
+
+            // Warm both layouts once so neither is measured against a cold cache
+            fetchAll(connection, FLAT_QUERY, restaurantIds);
+            fetchAll(connection, PARTITIONED_QUERY, restaurantIds);
+            LatencyRecorder flat = fetchAll(connection, FLAT_QUERY, restaurantIds);
+            LatencyRecorder partitioned = fetchAll(connection, PARTITIONED_QUERY, restaurantIds);
+
+            System.out.println();
+            System.out.printf("%-12s %9s %9s %9s %9s%n", "layout", "p50 ms", "p90 ms", "p99 ms", "max ms");
+            printLatency("flat", flat);
+            printLatency("partitioned", partitioned);
+
+            vacuumAfterChurn(connection, churnRestaurants);
+
+            if (!options.getBoolean("keep")) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE bench_flat_customization_option");
+                    statement.execute("DROP TABLE bench_flat_customization_group");
+                }
+            }
+        }
+    }
+
+    private static void createFlatCopies(Connection connection) throws SQLException {
+        System.out.println("Creating unpartitioned copies of customization_group and customization_option");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_flat_customization_option");
+            statement.execute("DROP TABLE IF EXISTS bench_flat_customization_group");
+            statement.execute("CREATE TABLE bench_flat_customization_group AS "
+                    + "SELECT id, dish_id, group_name, type FROM customization_group");
+            statement.execute("ALTER TABLE bench_flat_customization_group ADD PRIMARY KEY (id)");
+            statement.execute("CREATE INDEX bench_flat_customization_group_dish ON bench_flat_customization_group (dish_id)");
+            statement.execute("CREATE TABLE bench_flat_customization_option AS "
+                    + "SELECT id, group_id, option_name, extra_price FROM customization_option");
+            statement.execute("ALTER TABLE bench_flat_customization_option ADD PRIMARY KEY (id)");
+            statement.execute("CREATE INDEX bench_flat_customization_option_group ON bench_flat_customization_option (group_id)");
+            statement.execute("VACUUM ANALYZE bench_flat_customization_group");
+            statement.execute("VACUUM ANALYZE bench_flat_customization_option");
+        }
+    }
+
+    private static List<UUID> restaurantIds(Connection connection, String sql, int limit) throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, limit);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getObject(1, UUID.class));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static int partitionsScanned(Connection connection, UUID restaurantId) throws SQLException {
+        int partitions = 0;
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + PARTITIONED_QUERY)) {
+            statement.setObject(1, restaurantId);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getString(1).contains("customization_option_p")) {
+                        partitions++;
+                    }
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static LatencyRecorder fetchAll(Connection connection, String sql, List<UUID> restaurantIds) throws SQLException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (UUID restaurantId : restaurantIds) {
+                long start = System.nanoTime();
+                statement.setObject(1, restaurantId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getObject(3);
+                    }
+                }
+                recorder.record((System.nanoTime() - start) / 1000);
+            }
+        }
+        return recorder;
+    }
+
+    private static void printLatency(String layout, LatencyRecorder recorder) {
+        System.out.printf("%-12s %9.2f %9.2f %9.2f %9.2f%n", layout,
+                recorder.percentileMillis(50),
+                recorder.percentileMillis(90),
+                recorder.percentileMillis(99),
+                recorder.percentileMillis(100));
+    }
+
+    private static void vacuumAfterChurn(Connection connection, int churnRestaurants) throws SQLException {
+        List<UUID> restaurantIds = restaurantIds(connection,
+                "SELECT DISTINCT restaurant_id FROM customization_option_p00 LIMIT ?", churnRestaurants);
+        Object idArray = connection.createArrayOf("uuid", restaurantIds.toArray());
+
+        System.out.printf("%nRewriting the options of %d restaurants in partition 00%n", restaurantIds.size());
+        long rows;
+        try (PreparedStatement partitioned = connection.prepareStatement(
+                "UPDATE customization_option SET extra_price = extra_price WHERE restaurant_id = ANY (?)");
+             PreparedStatement flat = connection.prepareStatement("""
+                     UPDATE bench_flat_customization_option SET extra_price = extra_price
+                     WHERE id IN (SELECT id FROM customization_option WHERE restaurant_id = ANY (?))
+                     """)) {
+            partitioned.setObject(1, idArray);
+            rows = partitioned.executeUpdate();
+            flat.setObject(1, idArray);
+            flat.executeUpdate();
+        }
+
+        double flatSeconds = vacuum(connection, "bench_flat_customization_option");
+        double partitionSeconds = vacuum(connection, "customization_option_p00");
+
+        System.out.printf("%,d dead rows in each layout%n%n", rows);
+        System.out.printf("%-34s %12s %12s%n", "vacuumed relation", "seconds", "total MB");
+        System.out.printf("%-34s %12.2f %12.1f%n", "bench_flat_customization_option", flatSeconds,
+                totalMegabytes(connection, "bench_flat_customization_option"));
+        System.out.printf("%-34s %12.2f %12.1f%n", "customization_option_p00", partitionSeconds,
+                totalMegabytes(connection, "customization_option_p00"));
+    }
+
+    private static double vacuum(Connection connection, String table) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM " + table);
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private static double totalMegabytes(Connection connection, String relation) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_total_relation_size(?::regclass)")) {
+            statement.setString(1, relation);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1) / (1024.0 * 1024.0);
+            }
+        }
+    }
+}
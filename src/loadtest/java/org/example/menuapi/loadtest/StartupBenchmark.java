@@ -0,0 +1,150 @@
+package org.example.menuapi.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the boot jar repeatedly in each startup configuration and reports time-to-first-request:
+ * the time from launching the JVM until the first successful response on {@code --path}.
+ *
+ * <pre>
+ * ./gradlew cdsArchive -Paot
+ * ./gradlew startupBenchmark --args="--runs=5"
+ * </pre>
+ *
+ * Variants: {@code baseline} (plain {@code java -jar}), {@code prod} (prod profile),
+ * {@code cds} (prod profile on the extracted jar with the CDS archive from {@code cdsArchive})
+ * and {@code aot} ({@code cds} plus {@code -Dspring.aot.enabled=true}, which needs a jar built
+ * with {@code -Paot}).
+ * <p>
+ * Options: {@code --variants} (default {@code baseline,prod,cds,aot}), {@code --runs} per variant
+ * (default 5), {@code --port} (default 18080), {@code --path} (default /actuator/health),
+ * {@code --jar} (default build/libs/menu-api-1.0-SNAPSHOT.jar), {@code --cds-dir} (default
+ * build/cds) and {@code --timeout-seconds} (default 120). The application reads its database
+ * settings from the inherited environment; process output goes to build/startup-benchmark.
+ */
+public final class StartupBenchmark {
+
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private final Path jar;
+    private final Path cdsDirectory;
+    private final Path logDirectory = Path.of("build", "startup-benchmark");
+    private final int port;
+    private final String path;
+    private final Duration timeout;
+
+    private StartupBenchmark(Args options) {
+        this.jar = Path.of(options.get("jar", "build/libs/menu-api-1.0-SNAPSHOT.jar"));
+        this.cdsDirectory = Path.of(options.get("cds-dir", "build/cds"));
+        this.port = options.getInt("port", 18080);
+        this.path = options.get("path", "/actuator/health");
+        this.timeout = Duration.ofSeconds(options.getInt("timeout-seconds", 120));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Args options = Args.parse(args);
+        StartupBenchmark benchmark = new StartupBenchmark(options);
+        List<String> variants = Arrays.asList(options.get("variants", "baseline,prod,cds,aot").split(","));
+        int runs = options.getInt("runs", 5);
+
+        Files.createDirectories(benchmark.logDirectory);
+        Map<String, long[]> results = new LinkedHashMap<>();
+        for (String variant : variants) {
+            List<String> command = benchmark.command(variant.trim());
+            System.out.printf("%s: %s%n", variant, String.join(" ", command));
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = benchmark.timeToFirstRequest(command, variant.trim() + "-" + run);
+                System.out.printf("  run %d: %d ms%n", run + 1, millis[run]);
+            }
+            results.put(variant, millis);
+        }
+
+        System.out.println();
+        System.out.printf("%-10s %10s %10s %10s%n", "variant", "min ms", "median ms", "max ms");
+        results.forEach((variant, millis) -> {
+            long[] sorted = millis.clone();
+            Arrays.sort(sorted);
+            System.out.printf("%-10s %10d %10d %10d%n", variant, sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+        });
+    }
+
+    private List<String> command(String variant) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        switch (variant) {
+            case "baseline", "prod" -> command.addAll(List.of("-jar", jar.toString()));
+            case "cds", "aot" -> {
+                Path archive = cdsDirectory.resolve("application.jsa");
+                if (!Files.exists(archive)) {
+                    throw new IllegalStateException(archive + " not found; run ./gradlew cdsArchive first");
+                }
+                command.add("-XX:SharedArchiveFile=" + archive);
+                if (variant.equals("aot")) {
+                    command.add("-Dspring.aot.enabled=true");
+                }
+                command.addAll(List.of("-jar", cdsDirectory.resolve(jar.getFileName()).toString()));
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unknown variant '" + variant + "', expected one of [baseline, prod, cds, aot]");
+        }
+        command.add("--server.port=" + port);
+        if (!variant.equals("baseline")) {
+            command.add("--spring.profiles.active=prod");
+        }
+        return command;
+    }
+
+    private long timeToFirstRequest(List<String> command, String logName) throws Exception {
+        File log = logDirectory.resolve(logName + ".log").toFile();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() < 400) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet, or still too busy starting to answer
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful response within " + timeout.toSeconds() + "s, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package org.example.menuapi.loadtest;
+
+import org.example.menuapi.entity.CustomizationGroup.CustomizationType;
+import org.example.menuapi.entity.RestaurantTiming.DayOfWeek;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Deterministic source of realistic restaurants and menus. Two instances created with
+ * the same {@link Random} seed produce exactly the same data, which is what makes
+ * generated datasets and load runs reproducible.
+ */
+final class SyntheticData {
+
+    record City(String name, String state, String pincodePrefix, double latitude, double longitude, int weight) {
+    }
+
+    record Timing(UUID id, DayOfWeek dayOfWeek, LocalTime openTime, LocalTime closeTime) {
+    }
+
+    record Restaurant(UUID id, String tinyId, String restaurantName, String addressLine1, City city,
+                      String pincode, BigDecimal latitude, BigDecimal longitude, String uiTemplate,
+                      List<String> cuisineTypes, List<Timing> timings) {
+    }
+
+    record Category(UUID id, UUID parentId, String categoryName) {
+    }
+
+    record Option(UUID id, String optionName, BigDecimal extraPrice) {
+    }
+
+    record Group(UUID id, String groupName, CustomizationType type, List<Option> options) {
+    }
+
+    record Dish(UUID id, UUID categoryId, String dishName, BigDecimal price, String description,
+                List<String> tags, List<Group> customizationGroups) {
+    }
+
+    record Menu(List<Category> categories, List<Dish> dishes) {
+    }
+
+    static final List<City> CITIES = List.of(
+            new City("Mumbai", "Maharashtra", "400", 19.0760, 72.8777, 20),
+            new City("Delhi", "Delhi", "110", 28.6139, 77.2090, 18),
+            new City("Bengaluru", "Karnataka", "560", 12.9716, 77.5946, 16),
+            new City("Hyderabad", "Telangana", "500", 17.3850, 78.4867, 12),
+            new City("Chennai", "Tamil Nadu", "600", 13.0827, 80.2707, 10),
+            new City("Kolkata", "West Bengal", "700", 22.5726, 88.3639, 9),
+            new City("Pune", "Maharashtra", "411", 18.5204, 73.8567, 7),
+            new City("Ahmedabad", "Gujarat", "380", 23.0225, 72.5714, 4),
+            new City("Jaipur", "Rajasthan", "302", 26.9124, 75.7873, 2),
+            new City("Lucknow", "Uttar Pradesh", "226", 26.8467, 80.9462, 2)
+    );
+
+    static final List<String> CUISINES = List.of(
+            "North Indian", "South Indian", "Chinese", "Italian", "Mughlai", "Continental",
+            "Street Food", "Biryani", "Desserts", "Beverages", "Bengali", "Gujarati", "Thai", "Mexican"
+    );
+
+    static final List<String> DISH_TAGS = List.of(
+            "veg", "non-veg", "vegan", "spicy", "gluten-free", "jain", "bestseller", "chef-special"
+    );
+
+    private static final long ID_EPOCH_MILLIS = 1735689600000L; // 2025-01-01T00:00:00Z
+    private static final String TINY_ID_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final List<String> NAME_PREFIXES = List.of(
+            "Spice", "Royal", "Green", "Golden", "Urban", "Coastal", "Tandoor", "Masala",
+            "Saffron", "Curry", "Bombay", "Madras", "Punjab", "Lotus", "Blue"
+    );
+    private static final List<String> NAME_SUFFIXES = List.of(
+            "Kitchen", "House", "Bistro", "Dhaba", "Cafe", "Garden", "Grill", "Express", "Table", "Corner"
+    );
+    private static final List<String> STREETS = List.of(
+            "MG Road", "Station Road", "Park Street", "Linking Road", "Ring Road", "Church Street",
+            "Market Lane", "Lake View Road", "Temple Street", "Brigade Road"
+    );
+    private static final List<String> UI_TEMPLATES = List.of("classic", "modern", "minimal");
+    private static final List<String> CATEGORY_NAMES = List.of(
+            "Starters", "Soups", "Salads", "Main Course", "Breads", "Rice & Biryani",
+            "Desserts", "Beverages", "Combos", "Chef Specials", "Snacks", "Thali"
+    );
+    private static final List<String> SUB_CATEGORY_NAMES = List.of("Veg", "Non-Veg");
+    private static final List<String> DISH_BASES = List.of(
+            "Paneer Tikka", "Chicken Tikka", "Dal Makhani", "Butter Chicken", "Veg Biryani",
+            "Mutton Biryani", "Masala Dosa", "Idli Sambar", "Hakka Noodles", "Manchurian",
+            "Margherita Pizza", "Penne Arrabbiata", "Gulab Jamun", "Rasmalai", "Cold Coffee",
+            "Masala Chai", "Fish Curry", "Chole Bhature", "Pav Bhaji", "Veg Thali",
+            "Garlic Naan", "Tandoori Roti", "Caesar Salad", "Tomato Soup", "Falafel Wrap"
+    );
+    private static final List<String> DISH_STYLES = List.of(
+            "", "Classic ", "Special ", "Homestyle ", "Smoked ", "Spicy ", "Jumbo "
+    );
+    private static final List<String> ADD_ONS = List.of(
+            "Extra Cheese", "Fries", "Coke", "Raita", "Papad", "Extra Gravy", "Salad", "Ice Cream"
+    );
+
+    private final Random random;
+    private final String nameSuffix;
+    private final Set<String> tinyIds = new LinkedHashSet<>();
+    private final Map<String, Integer> namesPerCity = new HashMap<>();
+    private long idSequence;
+    private final int cityWeightTotal = CITIES.stream().mapToInt(City::weight).sum();
+
+    /**
+     * @param nameSuffix appended to every restaurant name; lets independent generators
+     *                   (for example concurrent load-test workers) avoid name clashes
+     */
+    SyntheticData(Random random, String nameSuffix) {
+        this.random = random;
+        this.nameSuffix = nameSuffix;
+    }
+
+    Restaurant nextRestaurant() {
+        City city = pickCity();
+        String baseName = pick(NAME_PREFIXES) + " " + pick(NAME_SUFFIXES);
+        int seen = namesPerCity.merge(city.name() + "|" + baseName, 1, Integer::sum);
+        String name = (seen == 1 ? baseName : baseName + " " + seen) + nameSuffix;
+
+        return new Restaurant(
+                uuid(),
+                nextTinyId(),
+                name,
+                (1 + random.nextInt(400)) + ", " + pick(STREETS),
+                city,
+                city.pincodePrefix() + String.format("%03d", random.nextInt(1000)),
+                coordinate(city.latitude()),
+                coordinate(city.longitude()),
+                pick(UI_TEMPLATES),
+                pickDistinct(CUISINES, 1 + random.nextInt(3)),
+                nextTimings()
+        );
+    }
+
+    /**
+     * Builds a menu of up to {@code maxCategories} top-level categories, some of them split
+     * into Veg/Non-Veg sub-categories, with roughly {@code averageDishesPerCategory} dishes
+     * in each leaf category.
+     */
+    Menu nextMenu(int maxCategories, int averageDishesPerCategory) {
+        List<Category> categories = new ArrayList<>();
+        List<Dish> dishes = new ArrayList<>();
+
+        int categoryCount = Math.max(1, maxCategories / 2 + random.nextInt(maxCategories / 2 + 1));
+        for (String categoryName : pickDistinct(CATEGORY_NAMES, Math.min(categoryCount, CATEGORY_NAMES.size()))) {
+            Category category = new Category(uuid(), null, categoryName);
+            categories.add(category);
+
+            if (random.nextDouble() < 0.3) {
+                for (String subCategoryName : SUB_CATEGORY_NAMES) {
+                    Category subCategory = new Category(uuid(), category.id(), subCategoryName);
+                    categories.add(subCategory);
+                    addDishes(dishes, subCategory, averageDishesPerCategory / 2);
+                }
+            } else {
+                addDishes(dishes, category, averageDishesPerCategory);
+            }
+        }
+        return new Menu(categories, dishes);
+    }
+
+    private void addDishes(List<Dish> dishes, Category category, int average) {
+        int count = Math.max(1, average / 2 + random.nextInt(Math.max(1, average)));
+        for (int i = 0; i < count; i++) {
+            String dishName = pick(DISH_STYLES) + pick(DISH_BASES);
+            dishes.add(new Dish(
+                    uuid(),
+                    category.id(),
+                    dishName,
+                    BigDecimal.valueOf(60 + 5L * random.nextInt(170)).setScale(2, RoundingMode.UNNECESSARY),
+                    random.nextDouble() < 0.8 ? "Freshly prepared " + dishName.toLowerCase() : null,
+                    pickDistinct(DISH_TAGS, random.nextInt(4)),
+                    nextCustomizationGroups()
+            ));
+        }
+    }
+
+    private List<Group> nextCustomizationGroups() {
+        List<Group> groups = new ArrayList<>();
+        if (random.nextDouble() < 0.4) {
+            groups.add(new Group(uuid(), "Size", CustomizationType.direct, List.of(
+                    new Option(uuid(), "Regular", price(0)),
+                    new Option(uuid(), "Medium", price(40)),
+                    new Option(uuid(), "Large", price(80))
+            )));
+        }
+        if (random.nextDouble() < 0.3) {
+            List<Option> options = pickDistinct(ADD_ONS, 2 + random.nextInt(4)).stream()
+                    .map(addOn -> new Option(uuid(), addOn, price(20 + 10 * random.nextInt(11))))
+                    .toList();
+            groups.add(new Group(uuid(), "Add-ons", CustomizationType.extra, options));
+        }
+        return groups;
+    }
+
+    private List<Timing> nextTimings() {
+        List<Timing> timings = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (random.nextDouble() < 0.1) {
+                timings.add(new Timing(uuid(), day, null, null));
+            } else {
+                timings.add(new Timing(uuid(), day,
+                        LocalTime.of(7 + random.nextInt(5), random.nextBoolean() ? 0 : 30),
+                        LocalTime.of(21 + random.nextInt(3), random.nextBoolean() ? 0 : 30)));
+            }
+        }
+        return timings;
+    }
+
+    private String nextTinyId() {
+        String tinyId;
+        do {
+            StringBuilder sb = new StringBuilder(8);
+            for (int i = 0; i < 8; i++) {
+                sb.append(TINY_ID_CHARACTERS.charAt(random.nextInt(TINY_ID_CHARACTERS.length())));
+            }
+            tinyId = sb.toString();
+        } while (!tinyIds.add(tinyId));
+        return tinyId;
+    }
+
+    private City pickCity() {
+        int target = random.nextInt(cityWeightTotal);
+        for (City city : CITIES) {
+            target -= city.weight();
+            if (target < 0) {
+                return city;
+            }
+        }
+        return CITIES.get(0);
+    }
+
+    /**
+     * Restaurants cluster around the city centre with a standard deviation of ~5 km.
+     */
+    private BigDecimal coordinate(double centre) {
+        return BigDecimal.valueOf(centre + random.nextGaussian() * 0.05).setScale(6, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * UUIDv7 like the application generates, but with the timestamp and counter taken from
+     * a synthetic clock so the same seed always yields the same ids.
+     */
+    private UUID uuid() {
+        long sequence = idSequence++;
+        long timestamp = ID_EPOCH_MILLIS + (sequence >>> 12);
+        long most = (timestamp << 16) | 0x7000L | (sequence & 0xFFFL);
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private static BigDecimal price(int amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private <T> List<T> pickDistinct(List<T> values, int count) {
+        List<T> shuffled = new ArrayList<>(values);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(shuffled.size() - i);
+            T tmp = shuffled.get(i);
+            shuffled.set(i, shuffled.get(j));
+            shuffled.set(j, tmp);
+        }
+        return List.copyOf(shuffled.subList(0, count));
+    }
+}
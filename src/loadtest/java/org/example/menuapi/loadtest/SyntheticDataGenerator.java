@@ -0,0 +1,157 @@
+package org.example.menuapi.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Bulk-loads N synthetic restaurants with timings, cuisines and deep menus into the
+ * schema from the Flyway migrations.
+ *
+ * <pre>
+ * ./gradlew generateData --args="--restaurants=100000 --seed=42"
+ * </pre>
+ *
+ * Options: {@code --restaurants} (default 1000), {@code --seed} (default 42),
+ * {@code --categories} max top-level categories per menu (default 8),
+ * {@code --dishes-per-category} (default 12), {@code --batch} restaurants per COPY
+ * transaction (default 500), and {@code --url}/{@code --username}/{@code --password}
+ * which default to DB_URL/DB_USERNAME/DB_PASSWORD. The same seed always produces the
+ * same data, so load it into an empty database (or change the seed) to avoid tiny ID clashes.
+ */
+public final class SyntheticDataGenerator {
+
+    /**
+     * Every generated menu is loaded as version 1. Stamping rows explicitly keeps the menu
+     * version trigger from bumping the restaurant row once per inserted row.
+     */
+    private static final long MENU_VERSION = 1;
+
+    private SyntheticDataGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Args options = Args.parse(args);
+        int restaurants = options.getInt("restaurants", 1000);
+        int maxCategories = options.getInt("categories", 8);
+        int dishesPerCategory = options.getInt("dishes-per-category", 12);
+        int batchSize = options.getInt("batch", 500);
+        SyntheticData data = new SyntheticData(new Random(options.getLong("seed", 42)), "");
+
+        try (Connection connection = DriverManager.getConnection(
+                options.getOrEnv("url", "DB_URL"),
+                options.getOrEnv("username", "DB_USERNAME"),
+                options.getOrEnv("password", "DB_PASSWORD"))) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            Map<String, UUID> cuisineIds = upsertNames(connection, "cuisine_type", SyntheticData.CUISINES);
+            Map<String, UUID> tagIds = upsertNames(connection, "dish_tag", SyntheticData.DISH_TAGS);
+            connection.commit();
+
+            CopyBatch batch = newBatch();
+            long start = System.nanoTime();
+            for (int i = 1; i <= restaurants; i++) {
+                SyntheticData.Restaurant restaurant = data.nextRestaurant();
+                addRestaurant(batch, restaurant, cuisineIds);
+                addMenu(batch, restaurant.id(), data.nextMenu(maxCategories, dishesPerCategory), tagIds);
+
+                if (i % batchSize == 0 || i == restaurants) {
+                    batch.flush(copyManager);
+                    connection.commit();
+                    System.out.printf("Loaded %d/%d restaurants%n", i, restaurants);
+                }
+            }
+            report(batch.counts(), System.nanoTime() - start);
+        }
+    }
+
+    private static CopyBatch newBatch() {
+        return new CopyBatch()
+                .table("restaurant", "id, tiny_id, restaurant_name, address_line1, city, state, pincode, latitude, longitude, ui_template, menu_version")
+                .table("restaurant_cuisine_type_mapping", "restaurant_id, cuisine_type_id")
+                .table("restaurant_timing", "id, restaurant_id, day_of_week, open_time, close_time")
+                .table("dish_category", "id, restaurant_id, category_name, parent_id, menu_version")
+                .table("dish", "id, restaurant_id, dish_name, dish_category_id, price, description, menu_version")
+                .table("dish_tag_mapping", "restaurant_id, dish_id, tag_id")
+                .table("customization_group", "id, restaurant_id, dish_id, group_name, type, menu_version")
+                .table("customization_option", "id, restaurant_id, group_id, option_name, extra_price, menu_version");
+    }
+
+    private static void addRestaurant(CopyBatch batch, SyntheticData.Restaurant restaurant, Map<String, UUID> cuisineIds) {
+        batch.row("restaurant", restaurant.id(), restaurant.tinyId(), restaurant.restaurantName(),
+                restaurant.addressLine1(), restaurant.city().name(), restaurant.city().state(), restaurant.pincode(),
+                restaurant.latitude(), restaurant.longitude(), restaurant.uiTemplate(), MENU_VERSION);
+
+        for (String cuisine : restaurant.cuisineTypes()) {
+            batch.row("restaurant_cuisine_type_mapping", restaurant.id(), cuisineIds.get(cuisine));
+        }
+        for (SyntheticData.Timing timing : restaurant.timings()) {
+            batch.row("restaurant_timing", timing.id(), restaurant.id(), timing.dayOfWeek().name(),
+                    timing.openTime(), timing.closeTime());
+        }
+    }
+
+    private static void addMenu(CopyBatch batch, UUID restaurantId, SyntheticData.Menu menu, Map<String, UUID> tagIds) {
+        for (SyntheticData.Category category : menu.categories()) {
+            batch.row("dish_category", category.id(), restaurantId, category.categoryName(), category.parentId(), MENU_VERSION);
+        }
+        for (SyntheticData.Dish dish : menu.dishes()) {
+            batch.row("dish", dish.id(), restaurantId, dish.dishName(), dish.categoryId(), dish.price(), dish.description(), MENU_VERSION);
+            for (String tag : dish.tags()) {
+                batch.row("dish_tag_mapping", restaurantId, dish.id(), tagIds.get(tag));
+            }
+            for (SyntheticData.Group group : dish.customizationGroups()) {
+                batch.row("customization_group", group.id(), restaurantId, dish.id(), group.groupName(), group.type().name(), MENU_VERSION);
+                for (SyntheticData.Option option : group.options()) {
+                    batch.row("customization_option", option.id(), restaurantId, group.id(), option.optionName(), option.extraPrice(), MENU_VERSION);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lookup tables may already contain some of the names (e.g. cuisines created through
+     * onboarding), so insert the missing ones and read back every id.
+     */
+    private static Map<String, UUID> upsertNames(Connection connection, String table, List<String> names) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (name) VALUES (?) ON CONFLICT (name) DO NOTHING")) {
+            for (String name : names) {
+                insert.setString(1, name);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        Map<String, UUID> ids = new HashMap<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, name FROM " + table + " WHERE name = ANY (?)")) {
+            select.setArray(1, connection.createArrayOf("text", names.toArray()));
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(rs.getString("name"), rs.getObject("id", UUID.class));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void report(Map<String, Long> counts, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        System.out.println();
+        counts.forEach((table, rows) -> System.out.printf("%-34s %,12d rows%n", table, rows));
+        System.out.printf("%-34s %,12d rows in %.1fs (%,.0f rows/s)%n", "total", total, seconds, total / seconds);
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.menuapi.loadtest;
+
+import org.example.menuapi.entity.TimeOrderedUuidGenerator;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Inserts the same number of rows into two scratch tables shaped like {@code dish}, one keyed
+ * with random UUIDv4 and one with time-ordered UUIDv7 ids, and reports insert throughput
+ * (overall and per 10% slice, to show v4 slowing down as its indexes outgrow the cache),
+ * index sizes and, when the pgstattuple extension is available, B-tree leaf density.
+ *
+ * <pre>
+ * ./gradlew uuidBenchmark --args="--rows=1000000"
+ * </pre>
+ *
+ * Options: {@code --rows} (default 1,000,000), {@code --children-per-parent} rows sharing a
+ * parent id, like dishes of one restaurant (default 50), {@code --batch} (default 1000),
+ * {@code --keep} to leave the scratch tables in place, and {@code --url}/{@code --username}/
+ * {@code --password} which default to DB_URL/DB_USERNAME/DB_PASSWORD.
+ */
+public final class UuidIndexBenchmark {
+
+    private UuidIndexBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Args options = Args.parse(args);
+        int rows = options.getInt("rows", 1_000_000);
+        int childrenPerParent = options.getInt("children-per-parent", 50);
+        int batchSize = options.getInt("batch", 1000);
+
+        Properties properties = new Properties();
+        properties.setProperty("user", options.getOrEnv("username", "DB_USERNAME"));
+        properties.setProperty("password", options.getOrEnv("password", "DB_PASSWORD"));
+        properties.setProperty("reWriteBatchedInserts", "true");
+
+        try (Connection connection = DriverManager.getConnection(options.getOrEnv("url", "DB_URL"), properties)) {
+            boolean pgstattuple = tryCreatePgstattuple(connection);
+
+            Result v4 = run(connection, "bench_uuid_v4", UUID::randomUUID, rows, childrenPerParent, batchSize);
+            Result v7 = run(connection, "bench_uuid_v7", TimeOrderedUuidGenerator::next, rows, childrenPerParent, batchSize);
+
+            System.out.println();
+            System.out.printf("%-14s %10s %12s %14s %16s %14s%n",
+                    "table", "seconds", "rows/s", "pkey MB", "parent idx MB", "leaf density");
+            for (Result result : new Result[]{v4, v7}) {
+                System.out.printf("%-14s %10.1f %,12.0f %14.1f %16.1f %14s%n",
+                        result.table(),
+                        result.seconds(),
+                        rows / result.seconds(),
+                        megabytes(connection, result.table() + "_pkey"),
+                        megabytes(connection, result.table() + "_parent_idx"),
+                        pgstattuple ? String.format("%.1f%%", leafDensity(connection, result.table() + "_pkey")) : "n/a");
+            }
+
+            if (!options.getBoolean("keep")) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE bench_uuid_v4");
+                    statement.execute("DROP TABLE bench_uuid_v7");
+                }
+            }
+        }
+    }
+
+    private record Result(String table, double seconds) {
+    }
+
+    private static Result run(Connection connection, String table, Supplier<UUID> ids,
+                              int rows, int childrenPerParent, int batchSize) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, parent_id UUID NOT NULL, "
+                    + "dish_name TEXT NOT NULL, price NUMERIC(10, 2) NOT NULL)");
+            statement.execute("CREATE INDEX " + table + "_parent_idx ON " + table + " (parent_id)");
+        }
+
+        System.out.printf("%nInserting %,d rows into %s%n", rows, table);
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        long sliceStart = start;
+        int slice = Math.max(1, rows / 10);
+        UUID parentId = ids.get();
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, parent_id, dish_name, price) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                if (i % childrenPerParent == 0) {
+                    parentId = ids.get();
+                }
+                insert.setObject(1, ids.get());
+                insert.setObject(2, parentId);
+                insert.setString(3, "Dish " + i);
+                insert.setBigDecimal(4, BigDecimal.valueOf(100 + i % 500));
+                insert.addBatch();
+
+                if (i % batchSize == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if (i % slice == 0) {
+                    long now = System.nanoTime();
+                    System.out.printf("  %,10d rows  %,10.0f rows/s%n", i, slice / ((now - sliceStart) / 1e9));
+                    sliceStart = now;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM ANALYZE " + table);
+        }
+        return new Result(table, seconds);
+    }
+
+    private static boolean tryCreatePgstattuple(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple");
+            return true;
+        } catch (SQLException e) {
+            System.out.println("pgstattuple unavailable, leaf density will not be reported: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static double megabytes(Connection connection, String relation) throws SQLException {
+        return querySingleDouble(connection, "SELECT pg_relation_size(?::regclass)", relation) / (1024 * 1024);
+    }
+
+    private static double leafDensity(Connection connection, String index) throws SQLException {
+        return querySingleDouble(connection, "SELECT avg_leaf_density FROM pgstatindex(?)", index);
+    }
+
+    private static double querySingleDouble(Connection connection, String sql, String argument) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, argument);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getDouble(1);
+            }
+        }
+    }
+}
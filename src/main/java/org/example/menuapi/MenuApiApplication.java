@@ -2,8 +2,10 @@ package org.example.menuapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "org.example")
+@EnableScheduling
 public class MenuApiApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,309 @@
+package org.example.menuapi.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide cache invalidation over Postgres {@code LISTEN/NOTIFY}, so no extra
+ * infrastructure is needed to keep in-process caches consistent across instances.
+ * <p>
+ * {@link #publish} is called by writers. Once the surrounding transaction commits, local
+ * listeners are evicted immediately and the key is queued; queued keys are coalesced and sent
+ * to peers as a few {@code NOTIFY} messages every {@code flush-interval-ms}, and stay queued
+ * until a message carrying them is sent. Each node keeps a dedicated connection that
+ * {@code LISTEN}s on the channel. If that connection drops, notifications sent in the meantime
+ * are lost, so after reconnecting every listener is asked to evict everything.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    /**
+     * NOTIFY payloads are limited to 8000 bytes; keys get this much, leaving room for the envelope
+     */
+    private static final int MAX_PAYLOAD_BYTES = 7000;
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+    // Resolved lazily, so listeners may publish through the bus themselves
+    private final ObjectProvider<CacheInvalidationListener> listeners;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<CacheRegion, Set<String>> pending = new ConcurrentHashMap<>();
+
+    @Value("${menu.cache.invalidation.enabled}")
+    private boolean enabled;
+
+    @Value("${menu.cache.invalidation.channel}")
+    private String channel;
+
+    @Value("${menu.cache.invalidation.flush-interval-ms}")
+    private long flushIntervalMs;
+
+    private ScheduledExecutorService flusher;
+    private Thread receiver;
+    private volatile boolean running;
+
+    public CacheInvalidationBus(ObjectProvider<CacheInvalidationListener> listeners, JdbcTemplate jdbcTemplate,
+                                DataSourceProperties dataSourceProperties, ObjectMapper objectMapper) {
+        this.listeners = listeners;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class InvalidationMessage {
+        private String node;
+        private Map<CacheRegion, List<String>> keys;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Cluster cache invalidation disabled; invalidations stay local");
+            return;
+        }
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Invalid cache invalidation channel: " + channel);
+        }
+        running = true;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        receiver = new Thread(this::receive, "cache-invalidation-listener");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("Cluster cache invalidation started on channel {} as node {}", channel, nodeId);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdown();
+            flush();
+        }
+        if (receiver != null) {
+            receiver.interrupt();
+        }
+    }
+
+    /**
+     * Invalidate a key on every node once the current transaction (if any) commits
+     */
+    public void publish(CacheRegion region, String key) {
+        afterCommit(() -> {
+            evictLocally(region, Set.of(key));
+            queue(region, key);
+        });
+    }
+
+    /**
+     * Invalidate a key on every other node once the current transaction (if any) commits.
+     * For writers whose in-memory state on this node is already current, so local listeners
+     * are not called.
+     */
+    public void publishToPeers(CacheRegion region, String key) {
+        afterCommit(() -> queue(region, key));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void queue(CacheRegion region, String key) {
+        if (running) {
+            pending.computeIfAbsent(region, r -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    /**
+     * Drain queued keys into as few NOTIFY messages as the payload limit allows. Keys of a
+     * message that fails to send are queued again for the next flush.
+     */
+    private void flush() {
+        Map<CacheRegion, List<String>> batch = new EnumMap<>(CacheRegion.class);
+        int size = 0;
+        for (CacheRegion region : CacheRegion.values()) {
+            Set<String> keys = pending.get(region);
+            if (keys == null) {
+                continue;
+            }
+            for (String key : keys) {
+                keys.remove(key);
+                int keySize = payloadBytes(key) + (batch.containsKey(region) ? 0 : payloadBytes(region.name()));
+                if (keySize > MAX_PAYLOAD_BYTES) {
+                    log.warn("Dropping cache invalidation of {} {}: key exceeds the NOTIFY payload limit", region, key);
+                    continue;
+                }
+                if (size + keySize > MAX_PAYLOAD_BYTES) {
+                    if (!send(batch)) {
+                        queue(region, key);
+                        return;
+                    }
+                    batch = new EnumMap<>(CacheRegion.class);
+                    size = 0;
+                    keySize = payloadBytes(key) + payloadBytes(region.name());
+                }
+                batch.computeIfAbsent(region, r -> new ArrayList<>()).add(key);
+                size += keySize;
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    /**
+     * UTF-8 length of a string as a JSON member, with its separator
+     */
+    private int payloadBytes(String value) {
+        try {
+            return objectMapper.writeValueAsBytes(value).length + 2;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return whether the message was sent; if not, its keys are queued again
+     */
+    private boolean send(Map<CacheRegion, List<String>> keys) {
+        try {
+            String payload = objectMapper.writeValueAsString(new InvalidationMessage(nodeId, keys));
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, payload);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidations, retrying on the next flush", e);
+            keys.forEach((region, regionKeys) -> regionKeys.forEach(key -> queue(region, key)));
+            return false;
+        }
+    }
+
+    private void receive() {
+        long reconnectDelay = 1000;
+        boolean connectedBefore = false;
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    log.info("Reconnected to cache invalidation channel, evicting all caches");
+                    evictAllLocally();
+                }
+                connectedBefore = true;
+                reconnectDelay = 1000;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, retrying in {} ms", reconnectDelay, e);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        try {
+            InvalidationMessage message = objectMapper.readValue(payload, InvalidationMessage.class);
+            if (nodeId.equals(message.getNode())) {
+                return; // already evicted locally when the write committed
+            }
+            Map<CacheRegion, Set<String>> keys = new HashMap<>();
+            message.getKeys().forEach((region, regionKeys) -> keys.put(region, Set.copyOf(regionKeys)));
+            keys.forEach(this::evictLocally);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation: {}", payload, e);
+        }
+    }
+
+    private void evictLocally(CacheRegion region, Set<String> keys) {
+        for (CacheInvalidationListener listener : listeners.orderedStream().toList()) {
+            try {
+                listener.evict(region, keys);
+            } catch (Exception e) {
+                log.warn("Cache listener {} failed to evict {} {}", listener.getClass().getSimpleName(), region, keys, e);
+            }
+        }
+    }
+
+    private void evictAllLocally() {
+        for (CacheInvalidationListener listener : listeners.orderedStream().toList()) {
+            try {
+                listener.evictAll();
+            } catch (Exception e) {
+                log.warn("Cache listener {} failed to evict all entries", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.menuapi.cache;
+
+import java.util.Set;
+
+/**
+ * Implemented by in-process caches that must drop entries written on any node.
+ * Listeners are called on this node after the writing transaction commits, and on every
+ * other node when the invalidation arrives through {@link CacheInvalidationBus}.
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * Evict the given keys of a region; listeners ignore regions they do not hold
+     */
+    void evict(CacheRegion region, Set<String> keys);
+
+    /**
+     * Evict everything; called after invalidations may have been missed (e.g. reconnect)
+     */
+    void evictAll();
+}
@@ -0,0 +1,10 @@
+package org.example.menuapi.cache;
+
+/**
+ * Logical cache regions that can be invalidated across nodes. Keys are region specific:
+ * tiny ids for {@code restaurant}, {@code menu} and {@code availability}, names for the
+ * reference data regions.
+ */
+public enum CacheRegion {
+    restaurant, menu, availability, cuisine_type, dish_tag
+}
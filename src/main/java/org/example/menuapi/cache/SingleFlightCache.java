@@ -0,0 +1,201 @@
+package org.example.menuapi.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * In-process cache that collapses concurrent loads of a key into one.
+ * <p>
+ * Misses for the same key share a single in-flight {@link CompletableFuture}: the first caller
+ * runs the loader, every other caller waits for its result. Entries are fresh for {@code ttl};
+ * for a further {@code staleWindow} they are still served while one background reload
+ * replaces them (stale-while-revalidate). Fresh entries are also refreshed early with a
+ * probability that rises as expiry approaches, scaled by how long the last load took
+ * (XFetch), so a hot key is usually reloaded before it expires and the herd never sees a miss.
+ * <p>
+ * {@link #invalidate} drops the entry and detaches any load in flight, so a load that started
+ * before a write never stores its result.
+ * <p>
+ * Values are shared by every caller and must be immutable.
+ */
+@Slf4j
+public class SingleFlightCache<K, V> {
+
+    private final String name;
+    private final Function<K, V> loader;
+    private final Executor refreshExecutor;
+    private final long ttlNanos;
+    private final long staleWindowNanos;
+    private final double beta;
+    private final int maxEntries;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param ttlNanos         how long an entry is served without a reload
+     * @param staleWindowNanos how long after expiry an entry is still served while it reloads
+     * @param beta             early refresh eagerness; 0 disables it, 1 is the usual setting
+     */
+    public SingleFlightCache(String name, Function<K, V> loader, Executor refreshExecutor,
+                             long ttlNanos, long staleWindowNanos, double beta, int maxEntries) {
+        this.name = name;
+        this.loader = loader;
+        this.refreshExecutor = refreshExecutor;
+        this.ttlNanos = ttlNanos;
+        this.staleWindowNanos = staleWindowNanos;
+        this.beta = beta;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param loadNanos how long the load took, the XFetch "delta"
+     */
+    private record Entry<V>(V value, long loadNanos, long expiresAt) {
+    }
+
+    /**
+     * Get the value of a key, loading it at most once across concurrent callers
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long now = System.nanoTime();
+            if (now - entry.expiresAt() < 0) {
+                if (shouldRefreshEarly(entry, now)) {
+                    refreshAsync(key);
+                }
+                return entry.value();
+            }
+            if (now - entry.expiresAt() < staleWindowNanos) {
+                refreshAsync(key);
+                return entry.value();
+            }
+        }
+        return join(load(key));
+    }
+
+    /**
+     * Drop a key; a load already in flight still answers its waiters but is not stored
+     */
+    public void invalidate(K key) {
+        inFlight.remove(key);
+        entries.remove(key);
+    }
+
+    /**
+     * Drop every key
+     */
+    public void invalidateAll() {
+        inFlight.clear();
+        entries.clear();
+    }
+
+    /**
+     * XFetch: refresh when {@code now - delta * beta * ln(rand)} reaches the expiry. The log of a
+     * uniform (0, 1] draw is negative, so slow loads and nearby expiries make an early refresh likelier.
+     */
+    private boolean shouldRefreshEarly(Entry<V> entry, long now) {
+        if (beta <= 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return now - entry.loadNanos() * beta * Math.log(random) >= entry.expiresAt();
+    }
+
+    /**
+     * Claim the key's load before handing it to the executor, so concurrent callers start at
+     * most one refresh and misses in the meantime wait for it instead of loading again
+     */
+    private void refreshAsync(K key) {
+        CompletableFuture<V> claimed = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, claimed) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    run(key, claimed);
+                } catch (RuntimeException e) {
+                    // The stale entry keeps being served until the stale window ends
+                    log.warn("Background refresh of {} cache key {} failed", name, key, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, claimed);
+            claimed.completeExceptionally(e);
+            log.debug("Skipped refresh of {} cache key {}: executor is shut down", name, key);
+        }
+    }
+
+    /**
+     * Join the load in flight for the key, or start one on this thread
+     */
+    private CompletableFuture<V> load(K key) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            run(key, created);
+        } catch (RuntimeException e) {
+            // Rethrown to the caller, and to every waiter, by join
+        }
+        return created;
+    }
+
+    /**
+     * Run the loader for a load claimed in {@code inFlight} and complete its future
+     */
+    private void run(K key, CompletableFuture<V> claimed) {
+        try {
+            long start = System.nanoTime();
+            V value = loader.apply(key);
+            long end = System.nanoTime();
+            // Only store if not invalidated while loading
+            if (inFlight.remove(key, claimed)) {
+                store(key, new Entry<>(value, end - start, end + ttlNanos));
+            }
+            claimed.complete(value);
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, claimed);
+            claimed.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void store(K key, Entry<V> entry) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            long now = System.nanoTime();
+            entries.values().removeIf(e -> now - e.expiresAt() >= staleWindowNanos);
+            // Still full of live entries: make room by dropping an arbitrary one
+            Iterator<K> iterator = entries.keySet().iterator();
+            while (entries.size() >= maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
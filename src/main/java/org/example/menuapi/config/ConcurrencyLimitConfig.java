@@ -0,0 +1,67 @@
+package org.example.menuapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.menuapi.limit.AdaptiveConcurrencyLimiter;
+import org.example.menuapi.limit.ConcurrencyLimitFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits for the restaurant API, one limiter per request budget. Limits
+ * are configured as {@code menu.concurrency-limit.<budget>.initial-limit / min-limit /
+ * max-limit}. Limiter state is published as {@code menu.concurrency.limit},
+ * {@code menu.concurrency.in-flight} and {@code menu.concurrency.rejected}, tagged by budget.
+ */
+@Configuration
+@ConditionalOnProperty(name = "menu.concurrency-limit.enabled", havingValue = "true")
+@Slf4j
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(Environment environment,
+                                                                                 MeterRegistry meterRegistry) {
+        Map<ConcurrencyLimitFilter.Budget, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(ConcurrencyLimitFilter.Budget.class);
+        Map<ConcurrencyLimitFilter.Budget, Counter> rejected = new EnumMap<>(ConcurrencyLimitFilter.Budget.class);
+
+        for (ConcurrencyLimitFilter.Budget budget : ConcurrencyLimitFilter.Budget.values()) {
+            String prefix = "menu.concurrency-limit." + budget + ".";
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    environment.getRequiredProperty(prefix + "initial-limit", Integer.class),
+                    environment.getRequiredProperty(prefix + "min-limit", Integer.class),
+                    environment.getRequiredProperty(prefix + "max-limit", Integer.class));
+            limiters.put(budget, limiter);
+
+            Gauge.builder("menu.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("budget", budget.name())
+                    .description("Current adaptive concurrency limit")
+                    .register(meterRegistry);
+            Gauge.builder("menu.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("budget", budget.name())
+                    .description("Requests holding a permit")
+                    .register(meterRegistry);
+            rejected.put(budget, Counter.builder("menu.concurrency.rejected")
+                    .tag("budget", budget.name())
+                    .description("Requests rejected with 503 by the concurrency limit")
+                    .register(meterRegistry));
+            log.info("Concurrency limit for {} requests starts at {}", budget, limiter.getLimit());
+        }
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiters, budget -> rejected.get(budget).increment(),
+                        environment.getRequiredProperty("menu.concurrency-limit.retry-after-seconds", Integer.class)));
+        registration.addUrlPatterns("/api/restaurants/*");
+        // Ahead of everything else, so rejected requests cost as little as possible
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.menuapi.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.menuapi.controller.ExportController;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Export downloads are streamed for as long as the export runs, far beyond the default async
+ * request timeout. They alone get {@code menu.export.request-timeout}: the timeout is set on
+ * the request just before its streaming body starts, so every other async response keeps
+ * the default.
+ */
+@Configuration
+public class ExportTimeoutConfig implements WebMvcConfigurer {
+
+    @Value("${menu.export.request-timeout}")
+    private Duration exportTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Called with the request's AsyncWebRequest before async processing starts
+                HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+                if (request instanceof AsyncWebRequest asyncWebRequest && servletRequest != null
+                        && servletRequest.getRequestURI().startsWith(servletRequest.getContextPath() + ExportController.PATH + "/")) {
+                    asyncWebRequest.setTimeout(exportTimeout.toMillis());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.menuapi.controller;
+
+import org.example.menuapi.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping(ExportController.PATH)
+@RequiredArgsConstructor
+public class ExportController {
+
+    public static final String PATH = "/api/export";
+
+    private final ExportService exportService;
+
+    /**
+     * Download a gzip-compressed export; the body is written while rows are read
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable ExportService.Dataset dataset,
+            @RequestParam(defaultValue = "ndjson") ExportService.Format format) {
+
+        StreamingResponseBody body = outputStream -> exportService.export(dataset, format, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + dataset + "." + format + ".gz\"")
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .body(body);
+    }
+}
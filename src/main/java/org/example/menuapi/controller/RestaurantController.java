@@ -1,7 +1,19 @@
 package org.example.menuapi.controller;
 
+import org.example.menuapi.dto.BulkMenuRequest;
+import org.example.menuapi.dto.BulkMenuResponse;
 import org.example.menuapi.dto.CreateRestaurantRequest;
 import org.example.menuapi.dto.CreateRestaurantResponse;
+import org.example.menuapi.dto.DishAvailabilityRequest;
+import org.example.menuapi.dto.MenuChangesResponse;
+import org.example.menuapi.dto.MenuEventRequest;
+import org.example.menuapi.dto.MenuResponse;
+import org.example.menuapi.dto.PopularDishesResponse;
+import org.example.menuapi.service.BulkMenuService;
+import org.example.menuapi.service.DishAvailabilityService;
+import org.example.menuapi.service.MenuAnalyticsService;
+import org.example.menuapi.service.MenuCache;
+import org.example.menuapi.service.MenuService;
 import org.example.menuapi.service.RestaurantService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -9,12 +21,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/restaurants")
 @RequiredArgsConstructor
 public class RestaurantController {
 
     private final RestaurantService restaurantService;
+    private final MenuService menuService;
+    private final DishAvailabilityService dishAvailabilityService;
+    private final MenuCache menuCache;
+    private final BulkMenuService bulkMenuService;
+    private final MenuAnalyticsService menuAnalyticsService;
 
     @PostMapping("/onboard")
     public ResponseEntity<CreateRestaurantResponse> createRestaurant(
@@ -23,4 +42,70 @@ public class RestaurantController {
         CreateRestaurantResponse response = restaurantService.createRestaurant(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
+
+    @GetMapping("/{tinyId}/menu")
+    public ResponseEntity<MenuResponse> getMenu(@PathVariable String tinyId) {
+        MenuResponse menu = dishAvailabilityService.withAvailability(menuCache.getMenu(tinyId));
+        menuAnalyticsService.recordMenuOpen(tinyId);
+        return ResponseEntity.ok(menu);
+    }
+
+    @GetMapping("/{tinyId}/menu/changes")
+    public ResponseEntity<MenuChangesResponse> getMenuChanges(
+            @PathVariable String tinyId,
+            @RequestParam long sinceVersion) {
+
+        return ResponseEntity.ok(menuService.getMenuChanges(tinyId, sinceVersion));
+    }
+
+    @PutMapping("/{tinyId}/dishes/{dishId}/availability")
+    public ResponseEntity<Void> setDishAvailability(
+            @PathVariable String tinyId,
+            @PathVariable UUID dishId,
+            @Valid @RequestBody DishAvailabilityRequest request) {
+
+        dishAvailabilityService.setAvailability(tinyId, dishId, request.getAvailable());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{tinyId}/menu/bulk/price-revision")
+    public ResponseEntity<BulkMenuResponse> revisePrices(
+            @PathVariable String tinyId,
+            @Valid @RequestBody BulkMenuRequest.PriceRevision request) {
+
+        return ResponseEntity.ok(bulkMenuService.revisePrices(tinyId, request));
+    }
+
+    @PostMapping("/{tinyId}/menu/bulk/move-dishes")
+    public ResponseEntity<BulkMenuResponse> moveDishes(
+            @PathVariable String tinyId,
+            @Valid @RequestBody BulkMenuRequest.MoveDishes request) {
+
+        return ResponseEntity.ok(bulkMenuService.moveDishes(tinyId, request));
+    }
+
+    @PostMapping("/{tinyId}/menu/bulk/tags")
+    public ResponseEntity<BulkMenuResponse> assignTags(
+            @PathVariable String tinyId,
+            @Valid @RequestBody BulkMenuRequest.AssignTags request) {
+
+        return ResponseEntity.ok(bulkMenuService.assignTags(tinyId, request));
+    }
+
+    @PostMapping("/{tinyId}/events")
+    public ResponseEntity<Void> recordEvent(
+            @PathVariable String tinyId,
+            @Valid @RequestBody MenuEventRequest request) {
+
+        menuAnalyticsService.recordEvent(tinyId, request);
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/{tinyId}/dishes/popular")
+    public ResponseEntity<PopularDishesResponse> getPopularDishes(
+            @PathVariable String tinyId,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(menuAnalyticsService.getPopularDishes(tinyId, limit));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package org.example.menuapi.controller;
+
+import org.example.menuapi.dto.MenuItemResponse;
+import org.example.menuapi.dto.RestaurantSummaryResponse;
+import org.example.menuapi.service.RestaurantStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+/**
+ * Streaming (NDJSON) variants of the customer read endpoints. Results are written one line per
+ * row as they arrive from the database; the next row is requested only after the previous one
+ * has been written, so slow clients apply backpressure all the way to the database cursor.
+ */
+@RestController
+@RequestMapping(value = "/api/restaurants/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@RequiredArgsConstructor
+public class RestaurantStreamController {
+
+    private final RestaurantStreamService restaurantStreamService;
+
+    @GetMapping("/nearby")
+    public Flux<RestaurantSummaryResponse> streamNearby(
+            @RequestParam BigDecimal latitude,
+            @RequestParam BigDecimal longitude,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        return restaurantStreamService.streamNearby(latitude, longitude, radiusKm, limit);
+    }
+
+    @GetMapping("/search")
+    public Flux<RestaurantSummaryResponse> streamSearch(
+            @RequestParam("q") String searchTerm,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        return restaurantStreamService.streamSearch(searchTerm, limit);
+    }
+
+    @GetMapping("/{tinyId}/menu")
+    public Flux<MenuItemResponse> streamMenu(@PathVariable String tinyId) {
+        return restaurantStreamService.streamMenu(tinyId);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.menuapi.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+public class BulkMenuRequest {
+
+    /**
+     * Largest number of dishes that can be listed by ID in one request
+     */
+    public static final int MAX_DISH_IDS = 10_000;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceRevision {
+        @NotNull(message = "Category ID is required")
+        private UUID categoryId; // includes subcategories
+
+        @NotNull(message = "Percent is required")
+        @DecimalMin(value = "-100.0", inclusive = false, message = "Percent must be greater than -100")
+        @DecimalMax(value = "1000.0", message = "Percent cannot exceed 1000")
+        @Digits(integer = 4, fraction = 2, message = "Percent can have at most 2 decimal places")
+        private BigDecimal percent;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MoveDishes {
+        @NotEmpty(message = "At least one dish ID is required")
+        @Size(max = MAX_DISH_IDS, message = "Cannot move more than 10000 dishes by ID")
+        private Set<UUID> dishIds;
+
+        @NotNull(message = "Target category ID is required")
+        private UUID targetCategoryId;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AssignTags {
+        @NotEmpty(message = "At least one tag is required")
+        private Set<@NotBlank(message = "Tag name cannot be blank") String> tags;
+
+        private UUID categoryId; // includes subcategories; either this or dishIds
+
+        @Size(max = MAX_DISH_IDS, message = "Cannot tag more than 10000 dishes by ID")
+        private Set<UUID> dishIds;
+    }
+}
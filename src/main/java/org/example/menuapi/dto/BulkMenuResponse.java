@@ -0,0 +1,17 @@
+package org.example.menuapi.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMenuResponse {
+
+    private String tinyId;
+    private long menuVersion;
+    private int affected;
+}
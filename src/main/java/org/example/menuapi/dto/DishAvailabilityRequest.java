@@ -0,0 +1,17 @@
+package org.example.menuapi.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DishAvailabilityRequest {
+
+    @NotNull(message = "Availability is required")
+    private Boolean available;
+}
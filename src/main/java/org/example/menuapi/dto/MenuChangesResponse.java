@@ -0,0 +1,86 @@
+package org.example.menuapi.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuChangesResponse {
+
+    private String tinyId;
+    private long sinceVersion;
+    private long menuVersion;
+    private List<CategoryChange> categories;
+    private List<DishChange> dishes;
+    private List<CustomizationGroupChange> customizationGroups;
+    private List<CustomizationOptionChange> customizationOptions;
+    private List<DeletedItem> deleted;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryChange {
+        private UUID id;
+        private UUID parentId;
+        private String categoryName;
+        private long menuVersion;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DishChange {
+        private UUID id;
+        private UUID categoryId;
+        private String dishName;
+        private BigDecimal price;
+        private String description;
+        private Set<String> tags;
+        private long menuVersion;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CustomizationGroupChange {
+        private UUID id;
+        private UUID dishId;
+        private String groupName;
+        private String type;
+        private long menuVersion;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CustomizationOptionChange {
+        private UUID id;
+        private UUID groupId;
+        private String optionName;
+        private BigDecimal extraPrice;
+        private long menuVersion;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DeletedItem {
+        private String itemType;
+        private UUID id;
+        private long menuVersion;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.menuapi.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuEventRequest {
+
+    @NotNull(message = "Event type is required")
+    private EventType type;
+
+    private UUID dishId; // required for dish_click
+
+    /**
+     * Menu opens are counted by the menu endpoint itself
+     */
+    public enum EventType {
+        qr_scan, dish_click
+    }
+}
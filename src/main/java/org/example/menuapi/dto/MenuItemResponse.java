@@ -0,0 +1,21 @@
+package org.example.menuapi.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemResponse {
+    private UUID dishId;
+    private String dishName;
+    private String categoryName;
+    private BigDecimal price;
+    private String description;
+}
@@ -0,0 +1,53 @@
+package org.example.menuapi.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Menu document; immutable, since one instance is cached and shared by every request for the menu
+ */
+@Value
+@Builder(toBuilder = true)
+public class MenuResponse {
+
+    private String tinyId;
+    private String restaurantName;
+    private Long menuVersion;
+    private List<DishResponse> dishes;
+    private Set<UUID> unavailableDishIds;
+
+    @Value
+    @Builder
+    public static class DishResponse {
+        private UUID id;
+        private String dishName;
+        private UUID categoryId;
+        private String categoryName;
+        private BigDecimal price;
+        private String description;
+        private Set<String> tags;
+        private List<CustomizationGroupResponse> customizationGroups;
+    }
+
+    @Value
+    @Builder
+    public static class CustomizationGroupResponse {
+        private UUID id;
+        private String groupName;
+        private String type;
+        private List<CustomizationOptionResponse> options;
+    }
+
+    @Value
+    @Builder
+    public static class CustomizationOptionResponse {
+        private UUID id;
+        private String optionName;
+        private BigDecimal extraPrice;
+    }
+}
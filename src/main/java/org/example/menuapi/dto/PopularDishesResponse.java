@@ -0,0 +1,30 @@
+package org.example.menuapi.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PopularDishesResponse {
+
+    private String tinyId;
+    private int days;
+    private List<PopularDish> dishes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PopularDish {
+        private UUID id;
+        private String dishName;
+        private long clicks;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.menuapi.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RestaurantSummaryResponse {
+    private String tinyId;
+    private String restaurantName;
+    private String addressLine1;
+    private String city;
+    private String state;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private Double distanceKm; // only set for nearby results
+}
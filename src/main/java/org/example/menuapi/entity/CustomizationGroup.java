@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.PartitionKey;
 
 import java.util.Set;
 import java.util.UUID;
@@ -20,10 +22,18 @@ import java.util.UUID;
 public class CustomizationGroup {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @TimeOrderedUuid
     @Column(columnDefinition = "UUID")
     private UUID id;
 
+    /**
+     * Partition key, copied from the dish so that per-restaurant reads, and updates and deletes by ID,
+     * prune to one partition
+     */
+    @PartitionKey
+    @Column(name = "restaurant_id", nullable = false, updatable = false, columnDefinition = "UUID")
+    private UUID restaurantId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "dish_id", nullable = false)
     private Dish dish;
@@ -34,9 +44,23 @@ public class CustomizationGroup {
     @Enumerated(EnumType.STRING)
     private CustomizationType type;
 
+    /**
+     * Menu version of the last change to this row, stamped by the database
+     */
+    @Column(name = "menu_version", insertable = false, updatable = false)
+    private Long menuVersion;
+
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 64)
     private Set<CustomizationOption> options;
 
+    @PrePersist
+    void assignRestaurantId() {
+        if (restaurantId == null) {
+            restaurantId = dish.getRestaurant().getId();
+        }
+    }
+
     public enum CustomizationType {
         direct, extra
     }
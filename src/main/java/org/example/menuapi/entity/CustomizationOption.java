@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.PartitionKey;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -20,10 +21,18 @@ import java.util.UUID;
 public class CustomizationOption {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @TimeOrderedUuid
     @Column(columnDefinition = "UUID")
     private UUID id;
 
+    /**
+     * Partition key, copied from the dish so that per-restaurant reads, and updates and deletes by ID,
+     * prune to one partition
+     */
+    @PartitionKey
+    @Column(name = "restaurant_id", nullable = false, updatable = false, columnDefinition = "UUID")
+    private UUID restaurantId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "group_id", nullable = false)
     private CustomizationGroup group;
@@ -33,4 +42,19 @@ public class CustomizationOption {
 
     @Column(name = "extra_price", precision = 10, scale = 2)
     private BigDecimal extraPrice;
+
+    /**
+     * Menu version of the last change to this row, stamped by the database
+     */
+    @Column(name = "menu_version", insertable = false, updatable = false)
+    private Long menuVersion;
+
+    @PrePersist
+    void assignRestaurantId() {
+        if (restaurantId == null) {
+            restaurantId = group.getRestaurantId() != null
+                    ? group.getRestaurantId()
+                    : group.getDish().getRestaurant().getId();
+        }
+    }
 }
\ No newline at end of file
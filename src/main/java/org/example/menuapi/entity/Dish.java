@@ -5,7 +5,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -22,7 +27,7 @@ import java.util.UUID;
 public class Dish {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @TimeOrderedUuid
     @Column(columnDefinition = "UUID")
     private UUID id;
 
@@ -30,6 +35,13 @@ public class Dish {
     @JoinColumn(name = "restaurant_id", nullable = false)
     private Restaurant restaurant;
 
+    /**
+     * Partition key, mirrored from the restaurant so that updates and deletes by ID prune to one partition
+     */
+    @PartitionKey
+    @Column(name = "restaurant_id", insertable = false, updatable = false, columnDefinition = "UUID")
+    private UUID restaurantId;
+
     @Column(name = "dish_name", nullable = false)
     private String dishName;
 
@@ -50,7 +62,18 @@ public class Dish {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Menu version of the last change to this row, stamped by the database
+     */
+    @Column(name = "menu_version", insertable = false, updatable = false)
+    private Long menuVersion;
+
     @ManyToMany
+    @BatchSize(size = 64)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    // Read only: dish_tag_mapping is partitioned by restaurant_id, which the join table mapping can't bind.
+    // Tags are written by BulkMenuService with the restaurant ID.
+    @Immutable
     @JoinTable(
             name = "dish_tag_mapping",
             joinColumns = @JoinColumn(name = "dish_id"),
@@ -59,5 +82,11 @@ public class Dish {
     private Set<DishTag> tags;
 
     @OneToMany(mappedBy = "dish", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 64)
     private Set<CustomizationGroup> customizationGroups;
+
+    @PrePersist
+    void assignRestaurantId() {
+        restaurantId = restaurant.getId();
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.Set;
 import java.util.UUID;
@@ -22,7 +23,7 @@ import java.util.UUID;
 public class DishCategory {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @TimeOrderedUuid
     @Column(columnDefinition = "UUID")
     private UUID id;
 
@@ -37,9 +38,17 @@ public class DishCategory {
     @JoinColumn(name = "parent_id")
     private DishCategory parentCategory;
 
+    /**
+     * Menu version of the last change to this row, stamped by the database
+     */
+    @Column(name = "menu_version", insertable = false, updatable = false)
+    private Long menuVersion;
+
     @OneToMany(mappedBy = "parentCategory", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 64)
     private Set<DishCategory> subCategories;
 
     @OneToMany(mappedBy = "dishCategory", cascade = CascadeType.ALL)
+    @BatchSize(size = 64)
     private Set<Dish> dishes;
 }
@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -24,7 +26,7 @@ import java.util.UUID;
 public class Restaurant {
 
         @Id
-        @GeneratedValue(generator = "UUID")
+        @TimeOrderedUuid
         @Column(columnDefinition = "UUID")
         private UUID id;
 
@@ -60,7 +62,14 @@ public class Restaurant {
         @Column(name = "ui_template")
         private String uiTemplate;
 
+        /**
+         * Incremented by the database on every change to this restaurant's menu
+         */
+        @Column(name = "menu_version", insertable = false, updatable = false)
+        private Long menuVersion;
+
         @ManyToMany
+        @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
         @JoinTable(
                 name = "restaurant_cuisine_type_mapping",
                 joinColumns = @JoinColumn(name = "restaurant_id"),
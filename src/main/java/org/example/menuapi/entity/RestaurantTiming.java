@@ -20,7 +20,7 @@ import java.util.UUID;
 public class RestaurantTiming {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @TimeOrderedUuid
     @Column(columnDefinition = "UUID")
     private UUID id;
 
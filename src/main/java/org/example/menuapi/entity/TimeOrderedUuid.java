@@ -0,0 +1,19 @@
+package org.example.menuapi.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an id attribute as generated in the application with {@link TimeOrderedUuidGenerator}.
+ * Ids are known before the INSERT is issued, which lets Hibernate batch inserts, and they
+ * are time ordered (UUIDv7), which keeps primary key and foreign key indexes append-mostly.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
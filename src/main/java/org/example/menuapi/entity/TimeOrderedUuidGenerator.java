@@ -0,0 +1,47 @@
+package org.example.menuapi.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp, a 12-bit
+ * counter that keeps ids generated within the same millisecond monotonic, and 62 random bits.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    /**
+     * Last issued (timestamp << 12 | counter). When the counter overflows it carries into the
+     * timestamp, which then runs slightly ahead of the clock rather than going backwards.
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long current = LAST.updateAndGet(last -> Math.max(now, last + 1));
+
+        long timestamp = current >>> 12;
+        long counter = current & 0xFFFL;
+        long mostSigBits = (timestamp << 16) | 0x7000L | counter;
+        // Ids are not secrets (tiny ids are), so a non-cryptographic source is enough here
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.menuapi.limit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency, after the gradient algorithm of
+ * Netflix's concurrency-limits library.
+ * <p>
+ * Two moving averages of request latency are kept: a short one following current conditions
+ * and a long one acting as the no-load baseline. When the short average rises above the
+ * baseline (by more than the tolerance), requests are queueing somewhere downstream, and the
+ * limit shrinks in proportion; while latency stays near the baseline the limit grows by about
+ * its square root per sample. Failed requests shrink the limit multiplicatively (AIMD).
+ * <p>
+ * Admission is a CAS on the in-flight count; latency samples update the limit under a lock
+ * held for a few arithmetic operations.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Latency may rise this much above the baseline before the limit shrinks
+     */
+    private static final double TOLERANCE = 1.5;
+    private static final double SHORT_SMOOTHING = 0.1;
+    private static final double LONG_SMOOTHING = 1.0 / 600;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max limit, got "
+                    + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admitted request; release it exactly once when the response is complete
+     */
+    public final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * @param success whether the request succeeded; only successful requests are latency samples
+         */
+        public void release(boolean success) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            inFlight.decrementAndGet();
+            if (success) {
+                onSample(System.nanoTime() - startNanos, inFlightAtStart);
+            } else {
+                onDrop();
+            }
+        }
+    }
+
+    /**
+     * Admit a request if the limit allows it
+     *
+     * @return the permit, or null if the request must be rejected
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Package private for tests, which feed it synthetic latencies
+    synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) * SHORT_SMOOTHING;
+        longRttNanos += (rttNanos - longRttNanos) * LONG_SMOOTHING;
+
+        // After a load drop the baseline lags far above current latency; let it catch up
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        // Latency at low utilisation says nothing about how far the limit can go
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING);
+    }
+
+    private synchronized void onDrop() {
+        limit = clamp(limit * DROP_BACKOFF);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
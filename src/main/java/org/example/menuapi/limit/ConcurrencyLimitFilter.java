@@ -0,0 +1,122 @@
+package org.example.menuapi.limit;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.menuapi.exception.BusinessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Sheds load before it queues on request threads and connection pools. Each request takes a
+ * permit from the limiter of its {@link Budget}; when none is left it is rejected at once with
+ * {@code 503} and {@code Retry-After}, so clients back off instead of piling up behind slow
+ * requests. Separate budgets keep slow search and geo queries, or a burst of writes, from
+ * starving the cheap menu reads.
+ * <p>
+ * The permit is held until the response is complete, including streamed (async) responses.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum Budget {
+        cheap, expensive, write
+    }
+
+    private final Map<Budget, AdaptiveConcurrencyLimiter> limiters;
+    private final Consumer<Budget> onRejected;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(Map<Budget, AdaptiveConcurrencyLimiter> limiters, Consumer<Budget> onRejected,
+                                  int retryAfterSeconds) {
+        this.limiters = new EnumMap<>(limiters);
+        this.onRejected = onRejected;
+        this.retryAfterSeconds = Integer.toString(retryAfterSeconds);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Budget budget = budgetOf(request);
+        AdaptiveConcurrencyLimiter.Permit permit = limiters.get(budget).tryAcquire();
+        if (permit == null) {
+            onRejected.accept(budget);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return;
+        }
+
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = false;
+        } catch (ServletException | IOException | RuntimeException e) {
+            // Business errors are answered quickly and say nothing about overload
+            dropped = !isBusinessError(e);
+            throw e;
+        } finally {
+            if (!dropped && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new PermitReleasingListener(permit));
+            } else {
+                permit.release(!dropped);
+            }
+        }
+    }
+
+    /**
+     * Search and geo streams scan many rows; other reads are single-restaurant lookups.
+     * Analytics events only bump in-memory counters, so they count as cheap.
+     */
+    private Budget budgetOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return path.endsWith("/events") ? Budget.cheap : Budget.write;
+        }
+        if (path.startsWith("/api/restaurants/stream/search") || path.startsWith("/api/restaurants/stream/nearby")) {
+            return Budget.expensive;
+        }
+        return Budget.cheap;
+    }
+
+    private static boolean isBusinessError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BusinessException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record PermitReleasingListener(AdaptiveConcurrencyLimiter.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release(true);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release(false);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release(isBusinessError(event.getThrowable()));
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are cleared when async processing restarts; keep holding the permit
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
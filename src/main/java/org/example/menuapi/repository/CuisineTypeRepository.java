@@ -1,14 +1,33 @@
 package org.example.menuapi.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.menuapi.entity.CuisineType;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CuisineTypeRepository extends JpaRepository<CuisineType, UUID> {
-    Optional<CuisineType> findByNameIgnoreCase(String name);
+
+    String BY_NAME_CACHE_REGION = "query.CuisineType.byName";
+
+    /**
+     * Find cuisine types by lower-case name in one query, served from the query cache; pass the
+     * names in a stable order so the same set always hits the same cache entry
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_NAME_CACHE_REGION)
+    })
+    @Query("SELECT c FROM CuisineType c WHERE LOWER(c.name) IN :names")
+    List<CuisineType> findByNameIgnoreCaseIn(@Param("names") Collection<String> names);
+
     boolean existsByNameIgnoreCase(String name);
-}
\ No newline at end of file
+}
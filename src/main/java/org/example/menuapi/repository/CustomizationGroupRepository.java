@@ -0,0 +1,43 @@
+package org.example.menuapi.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.menuapi.entity.CustomizationGroup;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface CustomizationGroupRepository extends JpaRepository<CustomizationGroup, UUID> {
+
+    /**
+     * Find every customization group on a restaurant's menu (reads one partition)
+     */
+    List<CustomizationGroup> findByRestaurantId(UUID restaurantId);
+
+    /**
+     * Find customization groups of a restaurant by ID (reads one partition)
+     */
+    List<CustomizationGroup> findByRestaurantIdAndIdIn(UUID restaurantId, Collection<UUID> ids);
+
+    /**
+     * Stream every customization group with its options as (restaurant tiny ID, dish ID, group ID,
+     * group name, type, option ID, option name, extra price) rows, one per option, through a
+     * server-side cursor; groups without options have one row with null option columns. Must be
+     * consumed inside a (read-only) transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+        SELECT r.tiny_id, g.dish_id, g.id, g.group_name, g.type, o.id, o.option_name, o.extra_price
+        FROM customization_group g
+        JOIN restaurant r ON r.id = g.restaurant_id
+        LEFT JOIN customization_option o ON o.restaurant_id = g.restaurant_id AND o.group_id = g.id
+        """, nativeQuery = true)
+    Stream<Object[]> streamAllWithOptions();
+}
@@ -0,0 +1,23 @@
+package org.example.menuapi.repository;
+
+import org.example.menuapi.entity.CustomizationOption;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CustomizationOptionRepository extends JpaRepository<CustomizationOption, UUID> {
+
+    /**
+     * Find every customization option on a restaurant's menu (reads one partition)
+     */
+    List<CustomizationOption> findByRestaurantId(UUID restaurantId);
+
+    /**
+     * Find customization options of a restaurant by ID (reads one partition)
+     */
+    List<CustomizationOption> findByRestaurantIdAndIdIn(UUID restaurantId, Collection<UUID> ids);
+}
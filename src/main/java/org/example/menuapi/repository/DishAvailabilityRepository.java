@@ -0,0 +1,96 @@
+package org.example.menuapi.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plain JDBC access to {@code dish_availability}, which is written in batches behind the
+ * in-memory availability state rather than through JPA entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DishAvailabilityRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Find the ID of a restaurant by tiny ID
+     */
+    public Optional<UUID> findRestaurantId(String tinyId) {
+        return jdbcTemplate.query("SELECT id FROM restaurant WHERE tiny_id = ?",
+                (rs, rowNum) -> rs.getObject(1, UUID.class), tinyId).stream().findFirst();
+    }
+
+    /**
+     * Find the restaurant ID of a dish, if the dish exists and belongs to the restaurant with
+     * the tiny ID (a primary key lookup in one partition)
+     */
+    public Optional<UUID> findDishRestaurantId(String tinyId, UUID dishId) {
+        return jdbcTemplate.query("""
+                        SELECT d.restaurant_id
+                        FROM dish d
+                        WHERE d.restaurant_id = (SELECT r.id FROM restaurant r WHERE r.tiny_id = ?)
+                          AND d.id = ?
+                        """,
+                (rs, rowNum) -> rs.getObject(1, UUID.class), tinyId, dishId).stream().findFirst();
+    }
+
+    /**
+     * Find the IDs of every dish of a restaurant, in a stable order (reads one partition)
+     */
+    public List<UUID> findDishIds(UUID restaurantId) {
+        return jdbcTemplate.query("SELECT id FROM dish WHERE restaurant_id = ? ORDER BY id",
+                (rs, rowNum) -> rs.getObject(1, UUID.class), restaurantId);
+    }
+
+    /**
+     * Find the stored availability of a restaurant's dishes; dishes without a row are available
+     */
+    public Map<UUID, Boolean> findAvailability(UUID restaurantId) {
+        Map<UUID, Boolean> availability = new HashMap<>();
+        jdbcTemplate.query("SELECT dish_id, available FROM dish_availability WHERE restaurant_id = ?",
+                rs -> {
+                    availability.put(rs.getObject(1, UUID.class), rs.getBoolean(2));
+                }, restaurantId);
+        return availability;
+    }
+
+    /**
+     * Find the IDs, by tiny ID, of every restaurant with at least one unavailable dish
+     */
+    public Map<String, UUID> findRestaurantsWithUnavailableDishes() {
+        Map<String, UUID> restaurants = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT DISTINCT r.tiny_id, r.id
+                        FROM dish_availability a
+                        JOIN restaurant r ON r.id = a.restaurant_id
+                        WHERE NOT a.available
+                        """,
+                rs -> {
+                    restaurants.put(rs.getString(1), rs.getObject(2, UUID.class));
+                });
+        return restaurants;
+    }
+
+    /**
+     * Upsert availability as (restaurant ID, dish ID, available) rows in one batch. Rows of
+     * dishes deleted in the meantime are skipped.
+     */
+    public void upsertAll(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO dish_availability (restaurant_id, dish_id, available)
+                        SELECT d.restaurant_id, d.id, v.available
+                        FROM (VALUES (?, ?, ?)) AS v(restaurant_id, dish_id, available)
+                        JOIN dish d ON d.restaurant_id = v.restaurant_id AND d.id = v.dish_id
+                        ON CONFLICT (restaurant_id, dish_id)
+                        DO UPDATE SET available = EXCLUDED.available, updated_at = CURRENT_TIMESTAMP
+                        """, rows);
+    }
+}
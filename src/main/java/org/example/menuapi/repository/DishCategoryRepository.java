@@ -0,0 +1,18 @@
+package org.example.menuapi.repository;
+
+import org.example.menuapi.entity.DishCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DishCategoryRepository extends JpaRepository<DishCategory, UUID> {
+
+    /**
+     * Find categories of a restaurant by ID
+     */
+    List<DishCategory> findByRestaurantIdAndIdIn(UUID restaurantId, Collection<UUID> ids);
+}
@@ -0,0 +1,186 @@
+package org.example.menuapi.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.menuapi.entity.Dish;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface DishRepository extends JpaRepository<Dish, UUID> {
+
+    /**
+     * Stream every dish with its restaurant and category through a server-side cursor; must be
+     * consumed inside a (read-only) transaction and closed afterwards
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Dish d JOIN FETCH d.restaurant LEFT JOIN FETCH d.dishCategory")
+    Stream<Dish> streamAllWithRestaurantAndCategory();
+
+    /**
+     * Stream every dish tag as (restaurant tiny ID, dish ID, tag name) rows through a
+     * server-side cursor; must be consumed inside a (read-only) transaction and closed afterwards
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+        SELECT r.tiny_id, m.dish_id, t.name
+        FROM dish_tag_mapping m
+        JOIN restaurant r ON r.id = m.restaurant_id
+        JOIN dish_tag t ON t.id = m.tag_id
+        """, nativeQuery = true)
+    Stream<Object[]> streamAllTagNames();
+
+    /**
+     * Find every dish on a restaurant's menu with its category (reads one partition)
+     */
+    @Query("SELECT d FROM Dish d LEFT JOIN FETCH d.dishCategory WHERE d.restaurant.id = :restaurantId")
+    List<Dish> findMenuByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
+    /**
+     * Find the tag names of every dish on a restaurant's menu as (dish ID, tag name) pairs
+     * (reads one partition)
+     */
+    @Query(value = """
+        SELECT m.dish_id, t.name
+        FROM dish_tag_mapping m
+        JOIN dish_tag t ON t.id = m.tag_id
+        WHERE m.restaurant_id = :restaurantId
+        """, nativeQuery = true)
+    List<Object[]> findTagNamesByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
+    /**
+     * Find dishes of a restaurant by ID with their categories (reads one partition)
+     */
+    @Query("""
+        SELECT d FROM Dish d LEFT JOIN FETCH d.dishCategory
+        WHERE d.restaurant.id = :restaurantId AND d.id IN :ids
+        """)
+    List<Dish> findMenuByRestaurantIdAndIdIn(@Param("restaurantId") UUID restaurantId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Find the tag names of some dishes of a restaurant as (dish ID, tag name) pairs
+     * (reads one partition)
+     */
+    @Query(value = """
+        SELECT m.dish_id, t.name
+        FROM dish_tag_mapping m
+        JOIN dish_tag t ON t.id = m.tag_id
+        WHERE m.restaurant_id = :restaurantId AND m.dish_id IN :dishIds
+        """, nativeQuery = true)
+    List<Object[]> findTagNamesByRestaurantIdAndDishIdIn(@Param("restaurantId") UUID restaurantId,
+                                                        @Param("dishIds") Collection<UUID> dishIds);
+
+    /**
+     * Bump a restaurant's menu version once for a bulk change in the current transaction;
+     * bulk statements stamp their rows with the returned version
+     */
+    @Query(value = "SELECT begin_bulk_menu_change(:restaurantId)", nativeQuery = true)
+    Long beginBulkMenuChange(@Param("restaurantId") UUID restaurantId);
+
+    /**
+     * Revise the price of every dish in a category and its subcategories by a percentage,
+     * rounded to cents
+     *
+     * @return the number of dishes updated
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dish"))
+    @Query(value = """
+        WITH RECURSIVE subtree AS (
+            SELECT id FROM dish_category WHERE restaurant_id = :restaurantId AND id = :categoryId
+            UNION ALL
+            SELECT c.id FROM dish_category c JOIN subtree s ON c.parent_id = s.id
+            WHERE c.restaurant_id = :restaurantId
+        )
+        UPDATE dish
+        SET price = ROUND(price * (100 + :percent) / 100, 2),
+            menu_version = :menuVersion,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE restaurant_id = :restaurantId
+          AND dish_category_id IN (SELECT id FROM subtree)
+        """, nativeQuery = true)
+    int revisePricesInCategoryTree(@Param("restaurantId") UUID restaurantId,
+                                   @Param("categoryId") UUID categoryId,
+                                   @Param("percent") BigDecimal percent,
+                                   @Param("menuVersion") long menuVersion);
+
+    /**
+     * Move dishes of a restaurant to a category; dishes already in it are not written
+     *
+     * @return the number of dishes moved
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dish"))
+    @Query(value = """
+        UPDATE dish
+        SET dish_category_id = :targetCategoryId,
+            menu_version = :menuVersion,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE restaurant_id = :restaurantId
+          AND id IN :dishIds
+          AND dish_category_id IS DISTINCT FROM :targetCategoryId
+        """, nativeQuery = true)
+    int moveDishes(@Param("restaurantId") UUID restaurantId,
+                   @Param("dishIds") Collection<UUID> dishIds,
+                   @Param("targetCategoryId") UUID targetCategoryId,
+                   @Param("menuVersion") long menuVersion);
+
+    /**
+     * Tag every dish in a category and its subcategories; existing mappings are kept
+     *
+     * @return the number of mappings added
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dish_tag_mapping"))
+    @Query(value = """
+        WITH RECURSIVE subtree AS (
+            SELECT id FROM dish_category WHERE restaurant_id = :restaurantId AND id = :categoryId
+            UNION ALL
+            SELECT c.id FROM dish_category c JOIN subtree s ON c.parent_id = s.id
+            WHERE c.restaurant_id = :restaurantId
+        )
+        INSERT INTO dish_tag_mapping (restaurant_id, dish_id, tag_id)
+        SELECT d.restaurant_id, d.id, t.id
+        FROM dish d CROSS JOIN dish_tag t
+        WHERE d.restaurant_id = :restaurantId
+          AND d.dish_category_id IN (SELECT id FROM subtree)
+          AND t.id IN :tagIds
+        ON CONFLICT DO NOTHING
+        """, nativeQuery = true)
+    int addTagsInCategoryTree(@Param("restaurantId") UUID restaurantId,
+                              @Param("categoryId") UUID categoryId,
+                              @Param("tagIds") Collection<UUID> tagIds);
+
+    /**
+     * Tag dishes of a restaurant; existing mappings are kept
+     *
+     * @return the number of mappings added
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dish_tag_mapping"))
+    @Query(value = """
+        INSERT INTO dish_tag_mapping (restaurant_id, dish_id, tag_id)
+        SELECT d.restaurant_id, d.id, t.id
+        FROM dish d CROSS JOIN dish_tag t
+        WHERE d.restaurant_id = :restaurantId
+          AND d.id IN :dishIds
+          AND t.id IN :tagIds
+        ON CONFLICT DO NOTHING
+        """, nativeQuery = true)
+    int addTags(@Param("restaurantId") UUID restaurantId,
+                @Param("dishIds") Collection<UUID> dishIds,
+                @Param("tagIds") Collection<UUID> tagIds);
+}
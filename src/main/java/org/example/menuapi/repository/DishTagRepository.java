@@ -0,0 +1,26 @@
+package org.example.menuapi.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.menuapi.entity.DishTag;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DishTagRepository extends JpaRepository<DishTag, UUID> {
+
+    String BY_NAME_CACHE_REGION = "query.DishTag.byName";
+
+    /**
+     * Find dish tag by name, served from the query cache
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_NAME_CACHE_REGION)
+    })
+    Optional<DishTag> findByNameIgnoreCase(String name);
+}
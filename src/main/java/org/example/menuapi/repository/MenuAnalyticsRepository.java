@@ -0,0 +1,71 @@
+package org.example.menuapi.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Plain JDBC access to the view count rollups, which are written in batches behind the
+ * in-memory counters rather than through JPA entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MenuAnalyticsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add view counts to today's rollups, as (tiny ID, QR scans, menu opens) and
+     * (tiny ID, dish ID, clicks) rows. Counts are added, so both batches commit together or
+     * not at all; rows of restaurants or dishes deleted in the meantime are skipped.
+     */
+    @Transactional
+    public void addCounts(List<Object[]> restaurantRows, List<Object[]> dishRows) {
+        if (!restaurantRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                            INSERT INTO restaurant_view_rollup (restaurant_id, day, qr_scans, menu_opens)
+                            SELECT r.id, CURRENT_DATE, v.qr_scans, v.menu_opens
+                            FROM (VALUES (?, ?, ?)) AS v(tiny_id, qr_scans, menu_opens)
+                            JOIN restaurant r ON r.tiny_id = v.tiny_id
+                            ON CONFLICT (restaurant_id, day)
+                            DO UPDATE SET qr_scans = restaurant_view_rollup.qr_scans + EXCLUDED.qr_scans,
+                                          menu_opens = restaurant_view_rollup.menu_opens + EXCLUDED.menu_opens
+                            """, restaurantRows);
+        }
+        if (!dishRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                            INSERT INTO dish_view_rollup (restaurant_id, day, dish_id, clicks)
+                            SELECT d.restaurant_id, CURRENT_DATE, d.id, v.clicks
+                            FROM (VALUES (?, ?, ?)) AS v(tiny_id, dish_id, clicks)
+                            JOIN restaurant r ON r.tiny_id = v.tiny_id
+                            JOIN dish d ON d.restaurant_id = r.id AND d.id = v.dish_id
+                            ON CONFLICT (restaurant_id, day, dish_id)
+                            DO UPDATE SET clicks = dish_view_rollup.clicks + EXCLUDED.clicks
+                            """, dishRows);
+        }
+    }
+
+    /**
+     * Find the clicks of a restaurant's dishes over the last days, today included
+     */
+    public Map<UUID, Long> findDishClicks(String tinyId, int days) {
+        Map<UUID, Long> clicks = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT dish_id, SUM(clicks)
+                        FROM dish_view_rollup
+                        WHERE restaurant_id = (SELECT id FROM restaurant WHERE tiny_id = ?)
+                          AND day > CURRENT_DATE - ?
+                        GROUP BY dish_id
+                        """,
+                rs -> {
+                    clicks.put(rs.getObject(1, UUID.class), rs.getLong(2));
+                }, tinyId, days);
+        return clicks;
+    }
+}
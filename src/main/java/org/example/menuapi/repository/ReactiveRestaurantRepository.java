@@ -0,0 +1,123 @@
+package org.example.menuapi.repository;
+
+import io.r2dbc.spi.Readable;
+import org.example.menuapi.dto.MenuItemResponse;
+import org.example.menuapi.dto.RestaurantSummaryResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Non-blocking reads over the same schema as {@link RestaurantRepository}. Rows are fetched
+ * from a server-side portal {@code fetch-size} rows at a time and emitted as they arrive,
+ * so callers can stream results without materialising them.
+ */
+@Repository
+public class ReactiveRestaurantRepository {
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveRestaurantRepository(DatabaseClient databaseClient,
+                                        @Value("${menu.r2dbc.fetch-size}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Stream restaurants within a radius (in kilometers), nearest first. A bounding box
+     * pre-filters rows before the Haversine distance is computed.
+     */
+    public Flux<RestaurantSummaryResponse> streamRestaurantsWithinRadius(BigDecimal latitude, BigDecimal longitude,
+                                                                         double radiusKm, int limit) {
+        double latitudeDelta = Math.toDegrees(radiusKm / 6371);
+        double longitudeDelta = latitudeDelta / Math.max(Math.cos(Math.toRadians(latitude.doubleValue())), 0.01);
+
+        return databaseClient.sql("""
+                        SELECT * FROM (
+                            SELECT r.tiny_id, r.restaurant_name, r.address_line1, r.city, r.state,
+                                   r.latitude, r.longitude,
+                                   6371 * acos(least(1, cos(radians(:latitude)) * cos(radians(r.latitude))
+                                   * cos(radians(r.longitude) - radians(:longitude))
+                                   + sin(radians(:latitude)) * sin(radians(r.latitude)))) AS distance_km
+                            FROM restaurant r
+                            WHERE r.latitude BETWEEN :minLatitude AND :maxLatitude
+                            AND r.longitude BETWEEN :minLongitude AND :maxLongitude
+                        ) nearby
+                        WHERE distance_km <= :radiusKm
+                        ORDER BY distance_km
+                        LIMIT :limit
+                        """)
+                .bind("latitude", latitude)
+                .bind("longitude", longitude)
+                .bind("minLatitude", latitude.doubleValue() - latitudeDelta)
+                .bind("maxLatitude", latitude.doubleValue() + latitudeDelta)
+                .bind("minLongitude", longitude.doubleValue() - longitudeDelta)
+                .bind("maxLongitude", longitude.doubleValue() + longitudeDelta)
+                .bind("radiusKm", radiusKm)
+                .bind("limit", limit)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(row -> toSummary(row, row.get("distance_km", Double.class)))
+                .all();
+    }
+
+    /**
+     * Stream restaurants whose name, city or state contains the search term
+     */
+    public Flux<RestaurantSummaryResponse> streamSearchRestaurants(String searchTerm, int limit) {
+        return databaseClient.sql("""
+                        SELECT r.tiny_id, r.restaurant_name, r.address_line1, r.city, r.state, r.latitude, r.longitude
+                        FROM restaurant r
+                        WHERE LOWER(r.restaurant_name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
+                        OR LOWER(r.city) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
+                        OR LOWER(r.state) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
+                        LIMIT :limit
+                        """)
+                .bind("searchTerm", searchTerm)
+                .bind("limit", limit)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(row -> toSummary(row, null))
+                .all();
+    }
+
+    /**
+     * Stream the dishes of a restaurant, grouped by category. The restaurant ID is resolved
+     * first so the dish scan is pruned to a single partition.
+     */
+    public Flux<MenuItemResponse> streamMenu(String tinyId) {
+        return databaseClient.sql("""
+                        SELECT d.id, d.dish_name, c.category_name, d.price, d.description
+                        FROM dish d
+                        LEFT JOIN dish_category c ON c.id = d.dish_category_id
+                        WHERE d.restaurant_id = (SELECT r.id FROM restaurant r WHERE r.tiny_id = :tinyId)
+                        ORDER BY c.category_name, d.dish_name
+                        """)
+                .bind("tinyId", tinyId)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(row -> MenuItemResponse.builder()
+                        .dishId(row.get("id", UUID.class))
+                        .dishName(row.get("dish_name", String.class))
+                        .categoryName(row.get("category_name", String.class))
+                        .price(row.get("price", BigDecimal.class))
+                        .description(row.get("description", String.class))
+                        .build())
+                .all();
+    }
+
+    private static RestaurantSummaryResponse toSummary(Readable row, Double distanceKm) {
+        return RestaurantSummaryResponse.builder()
+                .tinyId(row.get("tiny_id", String.class))
+                .restaurantName(row.get("restaurant_name", String.class))
+                .addressLine1(row.get("address_line1", String.class))
+                .city(row.get("city", String.class))
+                .state(row.get("state", String.class))
+                .latitude(row.get("latitude", BigDecimal.class))
+                .longitude(row.get("longitude", BigDecimal.class))
+                .distanceKm(distanceKm)
+                .build();
+    }
+}
@@ -1,10 +1,13 @@
 package org.example.menuapi.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.menuapi.entity.Restaurant;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +15,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, UUID> {
@@ -26,6 +30,25 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, UUID> {
      */
     boolean existsByTinyId(String tinyId);
 
+    /**
+     * Check if a restaurant with this name already exists in the city and state
+     */
+    boolean existsByRestaurantNameIgnoreCaseAndCityIgnoreCaseAndStateIgnoreCase(
+            String restaurantName, String city, String state);
+
+    /**
+     * Find menu changes after a version as (item type, item ID, version, deleted) rows,
+     * oldest first
+     */
+    @Query(value = """
+        SELECT item_type, item_id, version, deleted
+        FROM menu_change_log
+        WHERE restaurant_id = :restaurantId AND version > :sinceVersion
+        ORDER BY version
+        """, nativeQuery = true)
+    List<Object[]> findMenuChangesSince(@Param("restaurantId") UUID restaurantId,
+                                        @Param("sinceVersion") long sinceVersion);
+
     /**
      * Find restaurants by name (case-insensitive partial match)
      */
@@ -114,6 +137,17 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, UUID> {
     @Query("SELECT r FROM Restaurant r WHERE r.latitude IS NOT NULL AND r.longitude IS NOT NULL")
     List<Restaurant> findRestaurantsWithLocation();
 
+    /**
+     * Stream every restaurant through a server-side cursor; must be consumed inside a
+     * (read-only) transaction and closed afterwards
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Restaurant r")
+    Stream<Restaurant> streamAll();
+
     /**
      * Search restaurants by name, city, or state
      */
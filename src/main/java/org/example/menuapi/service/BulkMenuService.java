@@ -0,0 +1,145 @@
+package org.example.menuapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.menuapi.cache.CacheInvalidationBus;
+import org.example.menuapi.cache.CacheRegion;
+import org.example.menuapi.dto.BulkMenuRequest;
+import org.example.menuapi.dto.BulkMenuResponse;
+import org.example.menuapi.entity.DishTag;
+import org.example.menuapi.entity.Restaurant;
+import org.example.menuapi.exception.BusinessException;
+import org.example.menuapi.repository.DishCategoryRepository;
+import org.example.menuapi.repository.DishRepository;
+import org.example.menuapi.repository.DishTagRepository;
+import org.example.menuapi.repository.RestaurantRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Menu changes that touch many dishes at once. Each operation is a single set-based
+ * statement, so no dish is loaded into the persistence context and the cost does not grow
+ * with per-row round trips.
+ * <p>
+ * The restaurant's menu version is bumped once per operation and every written row is
+ * stamped with it, so a delta sync sees the whole operation as one version.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BulkMenuService {
+
+    private final RestaurantRepository restaurantRepository;
+    private final DishRepository dishRepository;
+    private final DishCategoryRepository dishCategoryRepository;
+    private final DishTagRepository dishTagRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    /**
+     * Revise the price of every dish in a category and its subcategories by a percentage
+     */
+    public BulkMenuResponse revisePrices(String tinyId, BulkMenuRequest.PriceRevision request) {
+        UUID restaurantId = findRestaurantId(tinyId);
+        validateCategory(restaurantId, request.getCategoryId());
+
+        long menuVersion = dishRepository.beginBulkMenuChange(restaurantId);
+        int updated = dishRepository.revisePricesInCategoryTree(
+                restaurantId, request.getCategoryId(), request.getPercent(), menuVersion);
+
+        log.info("Revised prices of {} dishes of {} by {}%", updated, tinyId, request.getPercent());
+        return complete(tinyId, menuVersion, updated);
+    }
+
+    /**
+     * Move dishes to another category
+     */
+    public BulkMenuResponse moveDishes(String tinyId, BulkMenuRequest.MoveDishes request) {
+        UUID restaurantId = findRestaurantId(tinyId);
+        validateCategory(restaurantId, request.getTargetCategoryId());
+
+        long menuVersion = dishRepository.beginBulkMenuChange(restaurantId);
+        int moved = dishRepository.moveDishes(
+                restaurantId, request.getDishIds(), request.getTargetCategoryId(), menuVersion);
+
+        log.info("Moved {} dishes of {} to category {}", moved, tinyId, request.getTargetCategoryId());
+        return complete(tinyId, menuVersion, moved);
+    }
+
+    /**
+     * Add tags to the dishes of a category and its subcategories, or to listed dishes
+     */
+    public BulkMenuResponse assignTags(String tinyId, BulkMenuRequest.AssignTags request) {
+        boolean byCategory = request.getCategoryId() != null;
+        boolean byDishIds = request.getDishIds() != null && !request.getDishIds().isEmpty();
+        if (byCategory == byDishIds) {
+            throw new BusinessException("Either categoryId or dishIds is required, not both");
+        }
+
+        UUID restaurantId = findRestaurantId(tinyId);
+        if (byCategory) {
+            validateCategory(restaurantId, request.getCategoryId());
+        }
+        Set<UUID> tagIds = getOrCreateTagIds(request.getTags());
+
+        long menuVersion = dishRepository.beginBulkMenuChange(restaurantId);
+        int added = byCategory
+                ? dishRepository.addTagsInCategoryTree(restaurantId, request.getCategoryId(), tagIds)
+                : dishRepository.addTags(restaurantId, request.getDishIds(), tagIds);
+
+        if (added > 0) {
+            // Cached dish tag collections are stale on every node
+            request.getTags().forEach(tag -> cacheInvalidationBus.publish(CacheRegion.dish_tag, tag));
+        }
+
+        log.info("Added {} dish tags {} to {}", added, request.getTags(), tinyId);
+        return complete(tinyId, menuVersion, added);
+    }
+
+    private UUID findRestaurantId(String tinyId) {
+        return restaurantRepository.findByTinyId(tinyId)
+                .map(Restaurant::getId)
+                .orElseThrow(() -> new BusinessException("Restaurant not found: " + tinyId));
+    }
+
+    private void validateCategory(UUID restaurantId, UUID categoryId) {
+        if (dishCategoryRepository.findByRestaurantIdAndIdIn(restaurantId, Set.of(categoryId)).isEmpty()) {
+            throw new BusinessException("Category not found: " + categoryId);
+        }
+    }
+
+    /**
+     * Get existing dish tags or create new ones; new tags are flushed so the bulk insert sees them
+     */
+    private Set<UUID> getOrCreateTagIds(Set<String> tagNames) {
+        Set<UUID> tagIds = new HashSet<>();
+
+        for (String tagName : tagNames) {
+            DishTag tag = dishTagRepository.findByNameIgnoreCase(tagName)
+                    .orElseGet(() -> {
+                        log.info("Creating new dish tag: {}", tagName);
+                        return dishTagRepository.saveAndFlush(DishTag.builder().name(tagName).build());
+                    });
+            tagIds.add(tag.getId());
+        }
+
+        return tagIds;
+    }
+
+    /**
+     * The version must exist before the statement stamps rows with it, so it is bumped even when
+     * nothing matches; the cached menu carries the old version and is evicted either way
+     */
+    private BulkMenuResponse complete(String tinyId, long menuVersion, int affected) {
+        cacheInvalidationBus.publish(CacheRegion.menu, tinyId);
+        return BulkMenuResponse.builder()
+                .tinyId(tinyId)
+                .menuVersion(menuVersion)
+                .affected(affected)
+                .build();
+    }
+}
@@ -0,0 +1,347 @@
+package org.example.menuapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.menuapi.cache.CacheInvalidationBus;
+import org.example.menuapi.cache.CacheInvalidationListener;
+import org.example.menuapi.cache.CacheRegion;
+import org.example.menuapi.dto.MenuResponse;
+import org.example.menuapi.exception.BusinessException;
+import org.example.menuapi.repository.DishAvailabilityRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory dish availability (in / out of stock) for high-frequency toggles during service.
+ * <p>
+ * Each restaurant with availability state has a bitset of unavailable dishes, indexed by the
+ * position of the dish in the restaurant's sorted dish IDs. Toggles flip bits with a CAS and
+ * touch no database row. The dish is marked dirty, and a scheduled flusher writes the current
+ * state of all dirty dishes in one batch, so any number of toggles between flushes cost a
+ * single row write. After each flush the affected restaurants are published to the other
+ * nodes, which reload them from the table; this node's state is already current.
+ * <p>
+ * Reloads read the database without holding a lock and install the result per restaurant,
+ * so a reload never blocks toggles of other restaurants.
+ * <p>
+ * Only restaurants with out-of-stock dishes or recent toggles are held in memory; every other
+ * restaurant has all dishes available. A restaurant whose dishes are all available again is
+ * dropped after {@value #IDLE_FLUSHES_BEFORE_REMOVAL} flushes without toggles.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DishAvailabilityService implements CacheInvalidationListener {
+
+    /**
+     * Restaurants with every dish available and no toggles for this many flushes are removed
+     */
+    static final int IDLE_FLUSHES_BEFORE_REMOVAL = 60;
+
+    private final DishAvailabilityRepository dishAvailabilityRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final Map<String, RestaurantAvailability> restaurants = new ConcurrentHashMap<>();
+    private final Set<DirtyDish> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicLong loadSequence = new AtomicLong();
+
+    private record DirtyDish(String tinyId, UUID dishId) {
+    }
+
+    /**
+     * Bitset of the unavailable dishes of one restaurant. The dish index is fixed; when a
+     * restaurant gains dishes, a new instance replaces this one and this one is retired.
+     */
+    private static final class RestaurantAvailability {
+        private final UUID restaurantId;
+        private final long loadSequence;
+        private final List<UUID> dishIds;
+        private final Map<UUID, Integer> dishIndex = new HashMap<>();
+        private final AtomicLongArray unavailable;
+        private volatile boolean retired;
+        // Only touched by the flusher
+        private int idleFlushes;
+
+        private RestaurantAvailability(UUID restaurantId, long loadSequence, List<UUID> dishIds) {
+            this.restaurantId = restaurantId;
+            this.loadSequence = loadSequence;
+            this.dishIds = dishIds;
+            for (int i = 0; i < dishIds.size(); i++) {
+                dishIndex.put(dishIds.get(i), i);
+            }
+            this.unavailable = new AtomicLongArray((dishIds.size() + 63) / 64);
+        }
+
+        private boolean contains(UUID dishId) {
+            return dishIndex.containsKey(dishId);
+        }
+
+        private boolean isAvailable(UUID dishId) {
+            int index = dishIndex.get(dishId);
+            return (unavailable.get(index >>> 6) & (1L << index)) == 0;
+        }
+
+        /**
+         * @return whether the availability changed
+         */
+        private boolean set(UUID dishId, boolean available) {
+            int index = dishIndex.get(dishId);
+            long mask = 1L << index;
+            while (true) {
+                long current = unavailable.get(index >>> 6);
+                long updated = available ? current & ~mask : current | mask;
+                if (current == updated) {
+                    return false;
+                }
+                if (unavailable.compareAndSet(index >>> 6, current, updated)) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean hasUnavailable() {
+            for (int word = 0; word < unavailable.length(); word++) {
+                if (unavailable.get(word) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Set<UUID> unavailableDishIds() {
+            Set<UUID> result = new HashSet<>();
+            for (int word = 0; word < unavailable.length(); word++) {
+                long bits = unavailable.get(word);
+                while (bits != 0) {
+                    result.add(dishIds.get(word * 64 + Long.numberOfTrailingZeros(bits)));
+                    bits &= bits - 1;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Mark a dish of a restaurant as available or unavailable
+     */
+    public void setAvailability(String tinyId, UUID dishId, boolean available) {
+        DirtyDish key = new DirtyDish(tinyId, dishId);
+        RestaurantAvailability state = stateFor(tinyId, dishId);
+        // Marked dirty before the change so a concurrent reload keeps this dish's in-memory
+        // state, and again after it in case a flush took the key in between
+        dirty.add(key);
+        if (state.set(dishId, available)) {
+            dirty.add(key);
+        }
+        // A reload may still have copied the bits before this toggle; apply it again
+        while (state.retired) {
+            state = stateFor(tinyId, dishId);
+            if (state.set(dishId, available)) {
+                dirty.add(key);
+            }
+        }
+    }
+
+    /**
+     * IDs of the restaurant's dishes that are currently unavailable
+     */
+    public Set<UUID> getUnavailableDishIds(String tinyId) {
+        RestaurantAvailability state = restaurants.get(tinyId);
+        return state != null ? state.unavailableDishIds() : Set.of();
+    }
+
+    /**
+     * Shallow copy of a menu with the current unavailable dishes; the menu itself is not changed
+     */
+    public MenuResponse withAvailability(MenuResponse menu) {
+        return menu.toBuilder()
+                .unavailableDishIds(getUnavailableDishIds(menu.getTinyId()))
+                .build();
+    }
+
+    private RestaurantAvailability stateFor(String tinyId, UUID dishId) {
+        RestaurantAvailability state = restaurants.get(tinyId);
+        if (state != null && state.retired) {
+            state = current(tinyId);
+        }
+        if (state != null && state.contains(dishId)) {
+            return state;
+        }
+
+        // First toggle for this restaurant on this node, or a dish added since it was loaded.
+        // A primary key lookup rules out unknown dishes, so they never cause a reload.
+        UUID restaurantId = dishAvailabilityRepository.findDishRestaurantId(tinyId, dishId)
+                .orElseThrow(() -> new BusinessException("Dish not found: " + dishId));
+        RestaurantAvailability loaded = load(tinyId, restaurantId);
+        if (!loaded.contains(dishId)) {
+            throw new BusinessException("Dish not found: " + dishId);
+        }
+        return loaded;
+    }
+
+    /**
+     * Current state of a restaurant, waiting for a reload that is being installed
+     */
+    private RestaurantAvailability current(String tinyId) {
+        return restaurants.computeIfPresent(tinyId, (key, state) -> state);
+    }
+
+    /**
+     * (Re)load a restaurant's dishes and stored availability. The database is read without a
+     * lock; the result is installed atomically for this restaurant only. Dishes with toggles
+     * that have not been flushed yet keep their in-memory state, and a reload that read the
+     * database before one already installed is dropped.
+     */
+    private RestaurantAvailability load(String tinyId, UUID restaurantId) {
+        long sequence = loadSequence.incrementAndGet();
+        List<UUID> dishIds = dishAvailabilityRepository.findDishIds(restaurantId);
+        Map<UUID, Boolean> stored = dishAvailabilityRepository.findAvailability(restaurantId);
+
+        return restaurants.compute(tinyId, (key, previous) -> {
+            if (previous != null && previous.loadSequence > sequence) {
+                return previous;
+            }
+            RestaurantAvailability loaded = new RestaurantAvailability(restaurantId, sequence, dishIds);
+            // Retired before its bits are copied: a toggle that still lands on it is reapplied
+            // to the new state by the toggling thread
+            if (previous != null) {
+                previous.retired = true;
+            }
+            for (UUID dishId : loaded.dishIds) {
+                boolean local = previous != null && previous.contains(dishId) && dirty.contains(new DirtyDish(tinyId, dishId));
+                loaded.set(dishId, local ? previous.isAvailable(dishId) : stored.getOrDefault(dishId, true));
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Write the current state of every dirty dish in one batch, then drop restaurants that
+     * stayed idle with every dish available
+     */
+    @Scheduled(fixedDelayString = "${menu.availability.flush-interval-ms}")
+    public synchronized void flush() {
+        Set<String> toggled = new HashSet<>();
+        if (!dirty.isEmpty() && !persistDirty(toggled)) {
+            return;
+        }
+
+        for (Map.Entry<String, RestaurantAvailability> entry : restaurants.entrySet()) {
+            RestaurantAvailability state = entry.getValue();
+            if (toggled.contains(entry.getKey()) || state.hasUnavailable()) {
+                state.idleFlushes = 0;
+            } else if (++state.idleFlushes >= IDLE_FLUSHES_BEFORE_REMOVAL) {
+                remove(entry.getKey(), state);
+            }
+        }
+    }
+
+    /**
+     * @param toggled receives the tiny IDs of the restaurants written
+     * @return whether the batch was written; if not, its dishes stay dirty
+     */
+    private boolean persistDirty(Set<String> toggled) {
+        // Remove before reading the state: a toggle after this point marks the dish dirty again
+        List<DirtyDish> batch = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Iterator<DirtyDish> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            DirtyDish dish = iterator.next();
+            iterator.remove();
+            RestaurantAvailability state = restaurants.get(dish.tinyId());
+            if (state != null && state.contains(dish.dishId())) {
+                batch.add(dish);
+                rows.add(new Object[]{state.restaurantId, dish.dishId(), state.isAvailable(dish.dishId())});
+            }
+        }
+
+        try {
+            dishAvailabilityRepository.upsertAll(rows);
+        } catch (DataAccessException e) {
+            dirty.addAll(batch);
+            log.warn("Failed to persist {} dish availability changes, retrying on the next flush", rows.size(), e);
+            return false;
+        }
+        batch.forEach(dish -> toggled.add(dish.tinyId()));
+        // This node's state is the source of what was written; only peers need to reload
+        toggled.forEach(tinyId -> cacheInvalidationBus.publishToPeers(CacheRegion.availability, tinyId));
+        log.debug("Persisted {} dish availability changes", rows.size());
+        return true;
+    }
+
+    /**
+     * Drop an idle restaurant. It is retired first, so a toggle racing with the removal either
+     * shows up in the check below or sees the retirement and reloads the restaurant; if the
+     * check fails, a copy replaces it instead.
+     */
+    private void remove(String tinyId, RestaurantAvailability state) {
+        restaurants.computeIfPresent(tinyId, (key, current) -> {
+            if (current != state) {
+                return current;
+            }
+            state.retired = true;
+            if (state.hasUnavailable() || dirty.stream().anyMatch(dish -> dish.tinyId().equals(tinyId))) {
+                RestaurantAvailability copy = new RestaurantAvailability(
+                        state.restaurantId, loadSequence.incrementAndGet(), state.dishIds);
+                state.dishIds.forEach(dishId -> copy.set(dishId, state.isAvailable(dishId)));
+                return copy;
+            }
+            log.debug("Dropped idle dish availability of {}", tinyId);
+            return null;
+        });
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Load every restaurant with unavailable dishes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        Map<String, UUID> unavailable = dishAvailabilityRepository.findRestaurantsWithUnavailableDishes();
+        Map<String, UUID> restaurantIds = new HashMap<>(unavailable);
+        restaurants.forEach((tinyId, state) -> restaurantIds.put(tinyId, state.restaurantId));
+        restaurantIds.forEach(this::load);
+        log.info("Loaded dish availability of {} restaurants", restaurants.size());
+    }
+
+    @Override
+    public void evict(CacheRegion region, Set<String> keys) {
+        if (region != CacheRegion.availability) {
+            return;
+        }
+        // Another node persisted toggles: reload the restaurants concerned
+        for (String tinyId : keys) {
+            RestaurantAvailability state = restaurants.get(tinyId);
+            if (state != null) {
+                load(tinyId, state.restaurantId);
+            } else {
+                dishAvailabilityRepository.findRestaurantId(tinyId)
+                        .ifPresent(restaurantId -> load(tinyId, restaurantId));
+            }
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        loadAll();
+    }
+}
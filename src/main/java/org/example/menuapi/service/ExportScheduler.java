@@ -0,0 +1,58 @@
+package org.example.menuapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+
+/**
+ * Nightly partner feed: writes every dataset to {@code menu.export.nightly.directory}.
+ * Files are written under a temporary name and moved into place once complete, so readers
+ * never pick up a partial export.
+ */
+@Component
+@ConditionalOnProperty("menu.export.nightly.directory")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportScheduler {
+
+    private final ExportService exportService;
+
+    @Value("${menu.export.nightly.directory}")
+    private Path directory;
+
+    @Value("${menu.export.nightly.format:ndjson}")
+    private ExportService.Format format;
+
+    @Scheduled(cron = "${menu.export.nightly.cron:0 0 2 * * *}")
+    public void exportNightly() {
+        for (ExportService.Dataset dataset : ExportService.Dataset.values()) {
+            try {
+                exportToFile(dataset);
+            } catch (IOException e) {
+                log.error("Nightly export of {} failed", dataset, e);
+            }
+        }
+    }
+
+    private void exportToFile(ExportService.Dataset dataset) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(dataset + "-" + LocalDate.now() + "." + format + ".gz");
+        Path partial = directory.resolve(target.getFileName() + ".partial");
+
+        try (OutputStream outputStream = Files.newOutputStream(partial)) {
+            exportService.export(dataset, format, outputStream);
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Wrote nightly export {}", target);
+    }
+}
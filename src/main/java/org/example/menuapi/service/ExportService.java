@@ -0,0 +1,185 @@
+package org.example.menuapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.menuapi.entity.Dish;
+import org.example.menuapi.entity.Restaurant;
+import org.example.menuapi.repository.CustomizationGroupRepository;
+import org.example.menuapi.repository.DishRepository;
+import org.example.menuapi.repository.RestaurantRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk export of restaurants and menus as gzip-compressed NDJSON or CSV: restaurants, dishes,
+ * dish tags (one row per tag) and customizations (one row per option).
+ * <p>
+ * Rows are read through a JDBC cursor and written straight to the output stream. The
+ * persistence context is cleared every {@value #CLEAR_INTERVAL} rows, so memory stays
+ * constant no matter how many rows are exported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private static final List<String> RESTAURANT_COLUMNS = List.of(
+            "id", "tinyId", "restaurantName", "addressLine1", "city", "state", "pincode",
+            "latitude", "longitude", "uiTemplate", "createdAt", "updatedAt");
+
+    private static final List<String> DISH_COLUMNS = List.of(
+            "id", "restaurantTinyId", "categoryName", "dishName", "price", "description", "createdAt", "updatedAt");
+
+    private static final List<String> TAG_COLUMNS = List.of("restaurantTinyId", "dishId", "tag");
+
+    private static final List<String> CUSTOMIZATION_COLUMNS = List.of(
+            "restaurantTinyId", "dishId", "groupId", "groupName", "type", "optionId", "optionName", "extraPrice");
+
+    private final RestaurantRepository restaurantRepository;
+    private final DishRepository dishRepository;
+    private final CustomizationGroupRepository customizationGroupRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public enum Dataset {
+        restaurants, dishes, tags, customizations
+    }
+
+    public enum Format {
+        ndjson, csv
+    }
+
+    /**
+     * Export a dataset to the output stream, which is closed afterwards
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(Dataset dataset, Format format, OutputStream outputStream) throws IOException {
+        long start = System.nanoTime();
+        long rows;
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(outputStream, 64 * 1024), StandardCharsets.UTF_8))) {
+            rows = switch (dataset) {
+                case restaurants -> write(restaurantRepository.streamAll(),
+                        this::toRow, RESTAURANT_COLUMNS, format, writer);
+                case dishes -> write(dishRepository.streamAllWithRestaurantAndCategory(),
+                        this::toRow, DISH_COLUMNS, format, writer);
+                case tags -> write(dishRepository.streamAllTagNames(),
+                        values -> toRow(TAG_COLUMNS, values), TAG_COLUMNS, format, writer);
+                case customizations -> write(customizationGroupRepository.streamAllWithOptions(),
+                        values -> toRow(CUSTOMIZATION_COLUMNS, values), CUSTOMIZATION_COLUMNS, format, writer);
+            };
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("Exported {} {} rows as {} in {}s ({} rows/s)",
+                rows, dataset, format, String.format("%.1f", seconds), String.format("%.0f", rows / Math.max(seconds, 0.001)));
+        return rows;
+    }
+
+    private <T> long write(Stream<T> entities, Function<T, Map<String, Object>> toRow, List<String> columns,
+                           Format format, Writer writer) throws IOException {
+        long rows = 0;
+        try (entities) {
+            if (format == Format.csv) {
+                writeCsvLine(writer, columns);
+            }
+
+            Iterator<T> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                Map<String, Object> row = toRow.apply(iterator.next());
+                if (format == Format.csv) {
+                    writeCsvLine(writer, row.values());
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+
+                // Detach exported entities so the persistence context does not grow with the export
+                if (++rows % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private Map<String, Object> toRow(Restaurant restaurant) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", restaurant.getId());
+        row.put("tinyId", restaurant.getTinyId());
+        row.put("restaurantName", restaurant.getRestaurantName());
+        row.put("addressLine1", restaurant.getAddressLine1());
+        row.put("city", restaurant.getCity());
+        row.put("state", restaurant.getState());
+        row.put("pincode", restaurant.getPincode());
+        row.put("latitude", restaurant.getLatitude());
+        row.put("longitude", restaurant.getLongitude());
+        row.put("uiTemplate", restaurant.getUiTemplate());
+        row.put("createdAt", restaurant.getCreatedAt());
+        row.put("updatedAt", restaurant.getUpdatedAt());
+        return row;
+    }
+
+    private Map<String, Object> toRow(Dish dish) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", dish.getId());
+        row.put("restaurantTinyId", dish.getRestaurant().getTinyId());
+        row.put("categoryName", dish.getDishCategory() != null ? dish.getDishCategory().getCategoryName() : null);
+        row.put("dishName", dish.getDishName());
+        row.put("price", dish.getPrice());
+        row.put("description", dish.getDescription());
+        row.put("createdAt", dish.getCreatedAt());
+        row.put("updatedAt", dish.getUpdatedAt());
+        return row;
+    }
+
+    private static Map<String, Object> toRow(List<String> columns, Object[] values) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            row.put(columns.get(i), values[i]);
+        }
+        return row;
+    }
+
+    private static void writeCsvLine(Writer writer, Iterable<?> values) throws IOException {
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
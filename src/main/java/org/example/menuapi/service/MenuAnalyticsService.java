@@ -0,0 +1,268 @@
+package org.example.menuapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.menuapi.cache.SingleFlightCache;
+import org.example.menuapi.dto.MenuEventRequest;
+import org.example.menuapi.dto.MenuResponse;
+import org.example.menuapi.dto.PopularDishesResponse;
+import org.example.menuapi.exception.BusinessException;
+import org.example.menuapi.repository.MenuAnalyticsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * View counters for menu analytics: QR scans and menu opens per restaurant, clicks per dish.
+ * <p>
+ * Views only increment a {@link LongAdder}, which spreads concurrent increments of a hot
+ * restaurant over striped cells instead of contending on one value or row. A scheduled
+ * flusher drains the counters and adds them to today's rollup rows in one batch, so each
+ * counted restaurant or dish costs one row write per flush however many views it had.
+ * <p>
+ * Popular dishes are ranked from the rollups of every node and kept in memory per
+ * restaurant; views that have not been flushed yet are not counted.
+ */
+@Service
+@Slf4j
+public class MenuAnalyticsService {
+
+    /**
+     * Counters without views for this many flushes are removed
+     */
+    private static final int IDLE_FLUSHES_BEFORE_REMOVAL = 12;
+    private static final int POPULAR_CACHE_MAX_ENTRIES = 10_000;
+
+    private final MenuAnalyticsRepository menuAnalyticsRepository;
+    private final MenuCache menuCache;
+    private final int popularDays;
+    private final int popularMax;
+
+    private final Map<String, RestaurantCounters> restaurants = new ConcurrentHashMap<>();
+    private final Map<DishKey, DishCounter> dishes = new ConcurrentHashMap<>();
+
+    // Removed by the last flush; drained once more by the next one, so an increment that
+    // raced with the removal is still counted. Only touched by the flusher.
+    private Map<String, RestaurantCounters> retiredRestaurants = new HashMap<>();
+    private Map<DishKey, DishCounter> retiredDishes = new HashMap<>();
+
+    private final ExecutorService refreshExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("popular-dishes-refresh-", 0).factory());
+    private final SingleFlightCache<String, List<PopularDishesResponse.PopularDish>> popularDishes;
+
+    private record DishKey(String tinyId, UUID dishId) {
+    }
+
+    private static final class RestaurantCounters {
+        private final LongAdder qrScans = new LongAdder();
+        private final LongAdder menuOpens = new LongAdder();
+        private int idleFlushes;
+    }
+
+    private static final class DishCounter {
+        private final LongAdder clicks = new LongAdder();
+        private int idleFlushes;
+    }
+
+    public MenuAnalyticsService(MenuAnalyticsRepository menuAnalyticsRepository, MenuCache menuCache,
+                                @Value("${menu.analytics.popular-days}") int popularDays,
+                                @Value("${menu.analytics.popular-max}") int popularMax,
+                                @Value("${menu.analytics.popular-ttl-ms}") long popularTtlMs) {
+        this.menuAnalyticsRepository = menuAnalyticsRepository;
+        this.menuCache = menuCache;
+        this.popularDays = popularDays;
+        this.popularMax = popularMax;
+        long popularTtlNanos = TimeUnit.MILLISECONDS.toNanos(popularTtlMs);
+        this.popularDishes = new SingleFlightCache<>("popular-dishes", this::loadPopularDishes, refreshExecutor,
+                popularTtlNanos, popularTtlNanos, 1.0, POPULAR_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * Count an opened menu; the caller has already found the restaurant
+     */
+    public void recordMenuOpen(String tinyId) {
+        restaurants.computeIfAbsent(tinyId, id -> new RestaurantCounters()).menuOpens.increment();
+    }
+
+    /**
+     * Count a QR scan or dish click reported by a client
+     */
+    public void recordEvent(String tinyId, MenuEventRequest request) {
+        // The menu cache validates the restaurant and dish; unknown restaurants are cached too
+        Set<UUID> dishIds = menuCache.getDishIds(tinyId);
+        switch (request.getType()) {
+            case qr_scan -> restaurants.computeIfAbsent(tinyId, id -> new RestaurantCounters()).qrScans.increment();
+            case dish_click -> {
+                UUID dishId = request.getDishId();
+                if (dishId == null) {
+                    throw new BusinessException("Dish ID is required for dish clicks");
+                }
+                if (!dishIds.contains(dishId)) {
+                    throw new BusinessException("Dish not found: " + dishId);
+                }
+                dishes.computeIfAbsent(new DishKey(tinyId, dishId), key -> new DishCounter()).clicks.increment();
+            }
+        }
+    }
+
+    /**
+     * Get the most clicked dishes of a restaurant over the last {@code popular-days} days
+     */
+    public PopularDishesResponse getPopularDishes(String tinyId, int limit) {
+        if (limit < 1 || limit > popularMax) {
+            throw new BusinessException("limit must be between 1 and " + popularMax);
+        }
+        List<PopularDishesResponse.PopularDish> top = popularDishes.get(tinyId);
+        return PopularDishesResponse.builder()
+                .tinyId(tinyId)
+                .days(popularDays)
+                .dishes(top.subList(0, Math.min(limit, top.size())))
+                .build();
+    }
+
+    /**
+     * Top {@code popular-max} dishes by clicks, most clicked first; dishes no longer on the
+     * menu are left out
+     */
+    private List<PopularDishesResponse.PopularDish> loadPopularDishes(String tinyId) {
+        Map<UUID, String> dishNames = new HashMap<>();
+        for (MenuResponse.DishResponse dish : menuCache.getMenu(tinyId).getDishes()) {
+            dishNames.put(dish.getId(), dish.getDishName());
+        }
+
+        // Min-heap of the best dishes so far: the least clicked is replaced first
+        PriorityQueue<Map.Entry<UUID, Long>> heap = new PriorityQueue<>(popularMax + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<UUID, Long> entry : menuAnalyticsRepository.findDishClicks(tinyId, popularDays).entrySet()) {
+            if (!dishNames.containsKey(entry.getKey())) {
+                continue;
+            }
+            heap.offer(entry);
+            if (heap.size() > popularMax) {
+                heap.poll();
+            }
+        }
+
+        List<PopularDishesResponse.PopularDish> top = new ArrayList<>(heap.size());
+        for (Map.Entry<UUID, Long> entry : heap) {
+            top.add(PopularDishesResponse.PopularDish.builder()
+                    .id(entry.getKey())
+                    .dishName(dishNames.get(entry.getKey()))
+                    .clicks(entry.getValue())
+                    .build());
+        }
+        top.sort(Comparator.comparingLong(PopularDishesResponse.PopularDish::getClicks).reversed()
+                .thenComparing(PopularDishesResponse.PopularDish::getDishName));
+        return List.copyOf(top);
+    }
+
+    /**
+     * Add the counts since the last flush to the rollups in one batch
+     */
+    @Scheduled(fixedDelayString = "${menu.analytics.flush-interval-ms}")
+    public synchronized void flush() {
+        Map<String, long[]> restaurantCounts = new HashMap<>();
+        Map<DishKey, Long> dishCounts = new HashMap<>();
+
+        retiredRestaurants.forEach((tinyId, counters) -> drain(restaurantCounts, tinyId, counters));
+        retiredDishes.forEach((key, counter) -> drain(dishCounts, key, counter));
+        retiredRestaurants = new HashMap<>();
+        retiredDishes = new HashMap<>();
+
+        for (Iterator<Map.Entry<String, RestaurantCounters>> iterator = restaurants.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<String, RestaurantCounters> entry = iterator.next();
+            RestaurantCounters counters = entry.getValue();
+            if (drain(restaurantCounts, entry.getKey(), counters)) {
+                counters.idleFlushes = 0;
+            } else if (++counters.idleFlushes >= IDLE_FLUSHES_BEFORE_REMOVAL) {
+                iterator.remove();
+                retiredRestaurants.put(entry.getKey(), counters);
+            }
+        }
+        for (Iterator<Map.Entry<DishKey, DishCounter>> iterator = dishes.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<DishKey, DishCounter> entry = iterator.next();
+            DishCounter counter = entry.getValue();
+            if (drain(dishCounts, entry.getKey(), counter)) {
+                counter.idleFlushes = 0;
+            } else if (++counter.idleFlushes >= IDLE_FLUSHES_BEFORE_REMOVAL) {
+                iterator.remove();
+                retiredDishes.put(entry.getKey(), counter);
+            }
+        }
+
+        if (restaurantCounts.isEmpty() && dishCounts.isEmpty()) {
+            return;
+        }
+        List<Object[]> restaurantRows = new ArrayList<>(restaurantCounts.size());
+        restaurantCounts.forEach((tinyId, counts) -> restaurantRows.add(new Object[]{tinyId, counts[0], counts[1]}));
+        List<Object[]> dishRows = new ArrayList<>(dishCounts.size());
+        dishCounts.forEach((key, clicks) -> dishRows.add(new Object[]{key.tinyId(), key.dishId(), clicks}));
+        // Every node upserts the rollup rows in the same order, so concurrent flushes wait on
+        // each other's row locks instead of deadlocking
+        restaurantRows.sort(Comparator.comparing(row -> (String) row[0]));
+        dishRows.sort(Comparator.<Object[], String>comparing(row -> (String) row[0])
+                .thenComparing(row -> (UUID) row[1]));
+
+        try {
+            menuAnalyticsRepository.addCounts(restaurantRows, dishRows);
+        } catch (DataAccessException e) {
+            // Nothing was added; put the counts back for the next flush
+            restaurantCounts.forEach((tinyId, counts) -> {
+                RestaurantCounters counters = restaurants.computeIfAbsent(tinyId, id -> new RestaurantCounters());
+                counters.qrScans.add(counts[0]);
+                counters.menuOpens.add(counts[1]);
+            });
+            dishCounts.forEach((key, clicks) ->
+                    dishes.computeIfAbsent(key, k -> new DishCounter()).clicks.add(clicks));
+            log.warn("Failed to persist view counts of {} restaurants and {} dishes, retrying on the next flush",
+                    restaurantRows.size(), dishRows.size(), e);
+            return;
+        }
+        log.debug("Persisted view counts of {} restaurants and {} dishes", restaurantRows.size(), dishRows.size());
+    }
+
+    /**
+     * @return whether the counters had any views
+     */
+    private static boolean drain(Map<String, long[]> counts, String tinyId, RestaurantCounters counters) {
+        long qrScans = counters.qrScans.sumThenReset();
+        long menuOpens = counters.menuOpens.sumThenReset();
+        if (qrScans == 0 && menuOpens == 0) {
+            return false;
+        }
+        long[] total = counts.computeIfAbsent(tinyId, id -> new long[2]);
+        total[0] += qrScans;
+        total[1] += menuOpens;
+        return true;
+    }
+
+    private static boolean drain(Map<DishKey, Long> counts, DishKey key, DishCounter counter) {
+        long clicks = counter.clicks.sumThenReset();
+        if (clicks == 0) {
+            return false;
+        }
+        counts.merge(key, clicks, Long::sum);
+        return true;
+    }
+
+    @PreDestroy
+    void stop() {
+        refreshExecutor.shutdownNow();
+        flush();
+    }
+}
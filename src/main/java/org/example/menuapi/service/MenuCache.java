@@ -0,0 +1,105 @@
+package org.example.menuapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.menuapi.cache.CacheInvalidationListener;
+import org.example.menuapi.cache.CacheRegion;
+import org.example.menuapi.cache.SingleFlightCache;
+import org.example.menuapi.dto.MenuResponse;
+import org.example.menuapi.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Menus by tiny ID in front of {@link MenuService#findMenu}.
+ * <p>
+ * A QR code scanned by a full restaurant at once is a burst of identical reads; concurrent
+ * misses share one database load, and hot menus are refreshed in the background before they
+ * expire. Entries are dropped when the restaurant or its menu is invalidated on any node.
+ * Availability is not cached here; callers merge it into the cached menu per request.
+ * <p>
+ * Unknown tiny IDs are cached as well, until the restaurant is created, so repeated requests
+ * for them don't reach the database.
+ */
+@Component
+@Slf4j
+public class MenuCache implements CacheInvalidationListener {
+
+    private final ExecutorService refreshExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("menu-cache-refresh-", 0).factory());
+    private final SingleFlightCache<String, CachedMenu> menus;
+
+    /**
+     * @param menu    null if there is no restaurant with the tiny ID
+     * @param dishIds IDs of the dishes on the menu, for constant-time lookups
+     */
+    private record CachedMenu(MenuResponse menu, Set<UUID> dishIds) {
+    }
+
+    public MenuCache(MenuService menuService,
+                     @Value("${menu.cache.menu.ttl-ms}") long ttlMs,
+                     @Value("${menu.cache.menu.stale-window-ms}") long staleWindowMs,
+                     @Value("${menu.cache.menu.early-refresh-beta}") double earlyRefreshBeta,
+                     @Value("${menu.cache.menu.max-entries}") int maxEntries) {
+        // Loads go through the MenuService proxy, so each runs in its own read-only transaction
+        this.menus = new SingleFlightCache<>("menu", tinyId -> load(menuService, tinyId), refreshExecutor,
+                TimeUnit.MILLISECONDS.toNanos(ttlMs), TimeUnit.MILLISECONDS.toNanos(staleWindowMs),
+                earlyRefreshBeta, maxEntries);
+    }
+
+    /**
+     * Get the menu of a restaurant, without availability
+     */
+    public MenuResponse getMenu(String tinyId) {
+        return find(tinyId).menu();
+    }
+
+    /**
+     * Get the IDs of the dishes on a restaurant's menu
+     */
+    public Set<UUID> getDishIds(String tinyId) {
+        return find(tinyId).dishIds();
+    }
+
+    private CachedMenu find(String tinyId) {
+        CachedMenu cached = menus.get(tinyId);
+        if (cached.menu() == null) {
+            throw new BusinessException("Restaurant not found: " + tinyId);
+        }
+        return cached;
+    }
+
+    private static CachedMenu load(MenuService menuService, String tinyId) {
+        return menuService.findMenu(tinyId)
+                .map(menu -> new CachedMenu(menu, menu.getDishes().stream()
+                        .map(MenuResponse.DishResponse::getId)
+                        .collect(Collectors.toUnmodifiableSet())))
+                .orElseGet(() -> new CachedMenu(null, Set.of()));
+    }
+
+    @Override
+    public void evict(CacheRegion region, Set<String> keys) {
+        if (region == CacheRegion.menu || region == CacheRegion.restaurant) {
+            keys.forEach(menus::invalidate);
+            log.debug("Evicted {} cached menus", keys.size());
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        menus.invalidateAll();
+        log.debug("Evicted all cached menus");
+    }
+
+    @PreDestroy
+    void stop() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,225 @@
+package org.example.menuapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.menuapi.dto.MenuChangesResponse;
+import org.example.menuapi.dto.MenuResponse;
+import org.example.menuapi.entity.CustomizationGroup;
+import org.example.menuapi.entity.CustomizationOption;
+import org.example.menuapi.entity.Dish;
+import org.example.menuapi.entity.Restaurant;
+import org.example.menuapi.exception.BusinessException;
+import org.example.menuapi.repository.CustomizationGroupRepository;
+import org.example.menuapi.repository.CustomizationOptionRepository;
+import org.example.menuapi.repository.DishCategoryRepository;
+import org.example.menuapi.repository.DishRepository;
+import org.example.menuapi.repository.RestaurantRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Reads a restaurant's menu, in full or as the changes since a menu version. Every query
+ * filters on {@code restaurant_id}, the partition key of the menu tables, so each one reads
+ * a single partition; the rows are then assembled into the response in memory.
+ * <p>
+ * Reads run in one repeatable-read snapshot, so the menu version reported with a menu or a
+ * change set matches the rows returned, and a client can resume from it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuService {
+
+    private final RestaurantRepository restaurantRepository;
+    private final DishRepository dishRepository;
+    private final CustomizationGroupRepository customizationGroupRepository;
+    private final CustomizationOptionRepository customizationOptionRepository;
+    private final DishCategoryRepository dishCategoryRepository;
+
+    /**
+     * Find the menu of a restaurant: dishes with categories, tags and customizations
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Optional<MenuResponse> findMenu(String tinyId) {
+        Optional<Restaurant> found = restaurantRepository.findByTinyId(tinyId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Restaurant restaurant = found.get();
+        UUID restaurantId = restaurant.getId();
+        Map<UUID, Set<String>> tagsByDish = groupTags(dishRepository.findTagNamesByRestaurantId(restaurantId));
+
+        Map<UUID, List<MenuResponse.CustomizationOptionResponse>> optionsByGroup = new HashMap<>();
+        for (CustomizationOption option : customizationOptionRepository.findByRestaurantId(restaurantId)) {
+            optionsByGroup.computeIfAbsent(option.getGroup().getId(), id -> new ArrayList<>())
+                    .add(MenuResponse.CustomizationOptionResponse.builder()
+                            .id(option.getId())
+                            .optionName(option.getOptionName())
+                            .extraPrice(option.getExtraPrice())
+                            .build());
+        }
+
+        Map<UUID, List<MenuResponse.CustomizationGroupResponse>> groupsByDish = new HashMap<>();
+        for (CustomizationGroup group : customizationGroupRepository.findByRestaurantId(restaurantId)) {
+            groupsByDish.computeIfAbsent(group.getDish().getId(), id -> new ArrayList<>())
+                    .add(MenuResponse.CustomizationGroupResponse.builder()
+                            .id(group.getId())
+                            .groupName(group.getGroupName())
+                            .type(group.getType() != null ? group.getType().name() : null)
+                            .options(List.copyOf(optionsByGroup.getOrDefault(group.getId(), List.of())))
+                            .build());
+        }
+
+        List<MenuResponse.DishResponse> dishes = dishRepository.findMenuByRestaurantId(restaurantId).stream()
+                .map(dish -> toDishResponse(dish,
+                        tagsByDish.getOrDefault(dish.getId(), Set.of()),
+                        groupsByDish.getOrDefault(dish.getId(), List.of())))
+                .sorted(Comparator.comparing(MenuResponse.DishResponse::getCategoryName,
+                                Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(MenuResponse.DishResponse::getDishName))
+                .toList();
+
+        log.debug("Built menu for {} with {} dishes", tinyId, dishes.size());
+        return Optional.of(MenuResponse.builder()
+                .tinyId(restaurant.getTinyId())
+                .restaurantName(restaurant.getRestaurantName())
+                .menuVersion(restaurant.getMenuVersion())
+                .dishes(dishes)
+                .build());
+    }
+
+    /**
+     * Get the menu items changed after a version: current state of upserted items and
+     * tombstones of deleted ones
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public MenuChangesResponse getMenuChanges(String tinyId, long sinceVersion) {
+        Restaurant restaurant = findRestaurant(tinyId);
+        UUID restaurantId = restaurant.getId();
+        long menuVersion = restaurant.getMenuVersion();
+        if (sinceVersion < 0 || sinceVersion > menuVersion) {
+            throw new BusinessException("sinceVersion must be between 0 and the current menu version " + menuVersion);
+        }
+
+        // Latest change version of every changed item, by item type
+        Map<String, Map<UUID, Long>> upserted = new HashMap<>();
+        List<MenuChangesResponse.DeletedItem> deleted = new ArrayList<>();
+        for (Object[] row : restaurantRepository.findMenuChangesSince(restaurantId, sinceVersion)) {
+            String itemType = (String) row[0];
+            UUID itemId = (UUID) row[1];
+            long version = ((Number) row[2]).longValue();
+            if ((Boolean) row[3]) {
+                deleted.add(MenuChangesResponse.DeletedItem.builder().itemType(itemType).id(itemId).menuVersion(version).build());
+            } else {
+                upserted.computeIfAbsent(itemType, type -> new HashMap<>()).put(itemId, version);
+            }
+        }
+
+        Map<UUID, Long> categoryVersions = upserted.getOrDefault("category", Map.of());
+        List<MenuChangesResponse.CategoryChange> categories = categoryVersions.isEmpty() ? List.of()
+                : dishCategoryRepository.findByRestaurantIdAndIdIn(restaurantId, categoryVersions.keySet()).stream()
+                .map(category -> MenuChangesResponse.CategoryChange.builder()
+                        .id(category.getId())
+                        .parentId(category.getParentCategory() != null ? category.getParentCategory().getId() : null)
+                        .categoryName(category.getCategoryName())
+                        .menuVersion(categoryVersions.get(category.getId()))
+                        .build())
+                .toList();
+
+        Map<UUID, Long> dishVersions = upserted.getOrDefault("dish", Map.of());
+        List<MenuChangesResponse.DishChange> dishes = List.of();
+        if (!dishVersions.isEmpty()) {
+            Map<UUID, Set<String>> tagsByDish = groupTags(
+                    dishRepository.findTagNamesByRestaurantIdAndDishIdIn(restaurantId, dishVersions.keySet()));
+            dishes = dishRepository.findMenuByRestaurantIdAndIdIn(restaurantId, dishVersions.keySet()).stream()
+                    .map(dish -> MenuChangesResponse.DishChange.builder()
+                            .id(dish.getId())
+                            .categoryId(categoryId(dish))
+                            .dishName(dish.getDishName())
+                            .price(dish.getPrice())
+                            .description(dish.getDescription())
+                            .tags(tagsByDish.getOrDefault(dish.getId(), Set.of()))
+                            .menuVersion(dishVersions.get(dish.getId()))
+                            .build())
+                    .toList();
+        }
+
+        Map<UUID, Long> groupVersions = upserted.getOrDefault("customization_group", Map.of());
+        List<MenuChangesResponse.CustomizationGroupChange> groups = groupVersions.isEmpty() ? List.of()
+                : customizationGroupRepository.findByRestaurantIdAndIdIn(restaurantId, groupVersions.keySet()).stream()
+                .map(group -> MenuChangesResponse.CustomizationGroupChange.builder()
+                        .id(group.getId())
+                        .dishId(group.getDish().getId())
+                        .groupName(group.getGroupName())
+                        .type(group.getType() != null ? group.getType().name() : null)
+                        .menuVersion(groupVersions.get(group.getId()))
+                        .build())
+                .toList();
+
+        Map<UUID, Long> optionVersions = upserted.getOrDefault("customization_option", Map.of());
+        List<MenuChangesResponse.CustomizationOptionChange> options = optionVersions.isEmpty() ? List.of()
+                : customizationOptionRepository.findByRestaurantIdAndIdIn(restaurantId, optionVersions.keySet()).stream()
+                .map(option -> MenuChangesResponse.CustomizationOptionChange.builder()
+                        .id(option.getId())
+                        .groupId(option.getGroup().getId())
+                        .optionName(option.getOptionName())
+                        .extraPrice(option.getExtraPrice())
+                        .menuVersion(optionVersions.get(option.getId()))
+                        .build())
+                .toList();
+
+        return MenuChangesResponse.builder()
+                .tinyId(restaurant.getTinyId())
+                .sinceVersion(sinceVersion)
+                .menuVersion(menuVersion)
+                .categories(categories)
+                .dishes(dishes)
+                .customizationGroups(groups)
+                .customizationOptions(options)
+                .deleted(deleted)
+                .build();
+    }
+
+    private Restaurant findRestaurant(String tinyId) {
+        return restaurantRepository.findByTinyId(tinyId)
+                .orElseThrow(() -> new BusinessException("Restaurant not found: " + tinyId));
+    }
+
+    private static Map<UUID, Set<String>> groupTags(List<Object[]> rows) {
+        Map<UUID, Set<String>> tagsByDish = new HashMap<>();
+        for (Object[] row : rows) {
+            tagsByDish.computeIfAbsent((UUID) row[0], id -> new TreeSet<>()).add((String) row[1]);
+        }
+        return tagsByDish;
+    }
+
+    private static UUID categoryId(Dish dish) {
+        return dish.getDishCategory() != null ? dish.getDishCategory().getId() : null;
+    }
+
+    private MenuResponse.DishResponse toDishResponse(Dish dish, Set<String> tags,
+                                                     List<MenuResponse.CustomizationGroupResponse> groups) {
+        return MenuResponse.DishResponse.builder()
+                .id(dish.getId())
+                .dishName(dish.getDishName())
+                .categoryId(categoryId(dish))
+                .categoryName(dish.getDishCategory() != null ? dish.getDishCategory().getCategoryName() : null)
+                .price(dish.getPrice())
+                .description(dish.getDescription())
+                .tags(Collections.unmodifiableSet(tags))
+                .customizationGroups(List.copyOf(groups))
+                .build();
+    }
+}
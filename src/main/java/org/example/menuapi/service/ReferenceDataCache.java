@@ -0,0 +1,79 @@
+package org.example.menuapi.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.menuapi.cache.CacheInvalidationListener;
+import org.example.menuapi.cache.CacheRegion;
+import org.example.menuapi.entity.CuisineType;
+import org.example.menuapi.entity.Dish;
+import org.example.menuapi.entity.DishTag;
+import org.example.menuapi.entity.Restaurant;
+import org.example.menuapi.repository.CuisineTypeRepository;
+import org.example.menuapi.repository.DishTagRepository;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Eviction hooks for the second-level cache regions holding reference data.
+ * <p>
+ * The cache is in-process, so writes made by another instance are invisible to it until the
+ * TTL expires. Cluster invalidations for the reference data regions drop the stale entries
+ * on this node.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache implements CacheInvalidationListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evict all cuisine types, restaurant cuisine collections and name lookups
+     */
+    public void evictCuisineTypes() {
+        Cache cache = cache();
+        cache.evictEntityData(CuisineType.class);
+        cache.evictCollectionData(Restaurant.class.getName() + ".cuisineTypes");
+        cache.evictQueryRegion(CuisineTypeRepository.BY_NAME_CACHE_REGION);
+        log.debug("Evicted cuisine type cache regions");
+    }
+
+    /**
+     * Evict all dish tags, dish tag collections and name lookups
+     */
+    public void evictDishTags() {
+        Cache cache = cache();
+        cache.evictEntityData(DishTag.class);
+        cache.evictCollectionData(Dish.class.getName() + ".tags");
+        cache.evictQueryRegion(DishTagRepository.BY_NAME_CACHE_REGION);
+        log.debug("Evicted dish tag cache regions");
+    }
+
+    @Override
+    public void evict(CacheRegion region, Set<String> keys) {
+        // Tiny tables: dropping the whole region is cheaper than mapping names back to ids
+        switch (region) {
+            case cuisine_type -> evictCuisineTypes();
+            case dish_tag -> evictDishTags();
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Evict every second-level cache region
+     */
+    @Override
+    public void evictAll() {
+        cache().evictAllRegions();
+        log.debug("Evicted all second-level cache regions");
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
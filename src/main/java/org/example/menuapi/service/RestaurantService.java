@@ -1,5 +1,7 @@
 package org.example.menuapi.service;
 
+import org.example.menuapi.cache.CacheInvalidationBus;
+import org.example.menuapi.cache.CacheRegion;
 import org.example.menuapi.dto.CreateRestaurantRequest;
 import org.example.menuapi.dto.CreateRestaurantResponse;
 import org.example.menuapi.entity.*;
@@ -23,6 +25,7 @@ public class RestaurantService {
     private final RestaurantRepository restaurantRepository;
     private final CuisineTypeRepository cuisineTypeRepository;
     private final TinyIdGenerator tinyIdGenerator;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * Create a new restaurant
@@ -53,14 +56,17 @@ public class RestaurantService {
                 .cuisineTypes(cuisineTypes)
                 .build();
 
-        // Save restaurant first
-        restaurant = restaurantRepository.save(restaurant);
-
-        // Add timings if provided
+        // Add timings if provided; they are cascaded with the restaurant
         if (request.getTimings() != null && !request.getTimings().isEmpty()) {
-            addRestaurantTimings(restaurant, request.getTimings());
+            restaurant.setTimings(buildRestaurantTimings(restaurant, request.getTimings()));
         }
 
+        // Single save: all inserts are batched at flush
+        restaurant = restaurantRepository.save(restaurant);
+
+        // Peers may have cached a miss for this tiny ID
+        cacheInvalidationBus.publish(CacheRegion.restaurant, tinyId);
+
         log.info("Restaurant created successfully with ID: {} and tiny ID: {}",
                 restaurant.getId(), restaurant.getTinyId());
 
@@ -73,11 +79,9 @@ public class RestaurantService {
     private void validateRestaurantRequest(CreateRestaurantRequest request) {
         // Check for duplicate restaurant name in same city
         if (request.getCity() != null) {
-            List<Restaurant> existingRestaurants = restaurantRepository
-                    .findByCityIgnoreCaseAndStateIgnoreCase(request.getCity(), request.getState());
-
-            boolean duplicateExists = existingRestaurants.stream()
-                    .anyMatch(r -> r.getRestaurantName().equalsIgnoreCase(request.getRestaurantName()));
+            boolean duplicateExists = restaurantRepository
+                    .existsByRestaurantNameIgnoreCaseAndCityIgnoreCaseAndStateIgnoreCase(
+                            request.getRestaurantName(), request.getCity(), request.getState());
 
             if (duplicateExists) {
                 throw new BusinessException("Restaurant with this name already exists in " + request.getCity());
@@ -152,19 +156,25 @@ public class RestaurantService {
     }
 
     /**
-     * Get existing cuisine types or create new ones
+     * Get existing cuisine types or create new ones. All names are looked up in one cached query
+     * before anything is persisted, so no lookup forces an early flush of a pending insert.
      */
     private Set<CuisineType> getOrCreateCuisineTypes(Set<String> cuisineTypeNames) {
-        Set<CuisineType> cuisineTypes = new HashSet<>();
+        Map<String, CuisineType> existing = cuisineTypeRepository.findByNameIgnoreCaseIn(
+                        cuisineTypeNames.stream().map(name -> name.toLowerCase(Locale.ROOT)).distinct().sorted().toList())
+                .stream()
+                .collect(Collectors.toMap(cuisineType -> cuisineType.getName().toLowerCase(Locale.ROOT),
+                        cuisineType -> cuisineType, (first, second) -> first));
 
+        Set<CuisineType> cuisineTypes = new HashSet<>();
         for (String cuisineName : cuisineTypeNames) {
-            CuisineType cuisineType = cuisineTypeRepository.findByNameIgnoreCase(cuisineName)
-                    .orElseGet(() -> {
-                        log.info("Creating new cuisine type: {}", cuisineName);
-                        return cuisineTypeRepository.save(
-                                CuisineType.builder().name(cuisineName).build()
-                        );
-                    });
+            CuisineType cuisineType = existing.get(cuisineName.toLowerCase(Locale.ROOT));
+            if (cuisineType == null) {
+                log.info("Creating new cuisine type: {}", cuisineName);
+                cacheInvalidationBus.publish(CacheRegion.cuisine_type, cuisineName);
+                cuisineType = cuisineTypeRepository.save(CuisineType.builder().name(cuisineName).build());
+                existing.put(cuisineName.toLowerCase(Locale.ROOT), cuisineType);
+            }
             cuisineTypes.add(cuisineType);
         }
 
@@ -172,11 +182,11 @@ public class RestaurantService {
     }
 
     /**
-     * Add restaurant timings
+     * Build restaurant timings
      */
-    private void addRestaurantTimings(Restaurant restaurant,
-                                      List<CreateRestaurantRequest.RestaurantTimingRequest> timingRequests) {
-        Set<RestaurantTiming> timings = timingRequests.stream()
+    private Set<RestaurantTiming> buildRestaurantTimings(Restaurant restaurant,
+                                                         List<CreateRestaurantRequest.RestaurantTimingRequest> timingRequests) {
+        return timingRequests.stream()
                 .map(timingRequest -> RestaurantTiming.builder()
                         .restaurant(restaurant)
                         .dayOfWeek(RestaurantTiming.DayOfWeek.valueOf(timingRequest.getDayOfWeek()))
@@ -184,9 +194,6 @@ public class RestaurantService {
                         .closeTime(timingRequest.getCloseTime())
                         .build())
                 .collect(Collectors.toSet());
-
-        restaurant.setTimings(timings);
-        restaurantRepository.save(restaurant);
     }
 
     /**
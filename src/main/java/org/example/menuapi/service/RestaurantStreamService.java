@@ -0,0 +1,60 @@
+package org.example.menuapi.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.menuapi.dto.MenuItemResponse;
+import org.example.menuapi.dto.RestaurantSummaryResponse;
+import org.example.menuapi.exception.BusinessException;
+import org.example.menuapi.repository.ReactiveRestaurantRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+@Service
+@RequiredArgsConstructor
+public class RestaurantStreamService {
+
+    private static final double MAX_RADIUS_KM = 50;
+    private static final int MAX_RESULTS = 10_000;
+
+    private final ReactiveRestaurantRepository reactiveRestaurantRepository;
+
+    /**
+     * Stream nearby restaurants, nearest first
+     */
+    public Flux<RestaurantSummaryResponse> streamNearby(BigDecimal latitude, BigDecimal longitude,
+                                                        double radiusKm, int limit) {
+        if (latitude.abs().compareTo(BigDecimal.valueOf(90)) > 0
+                || longitude.abs().compareTo(BigDecimal.valueOf(180)) > 0) {
+            throw new BusinessException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new BusinessException("Radius must be greater than 0 and at most " + MAX_RADIUS_KM + " km");
+        }
+        return reactiveRestaurantRepository.streamRestaurantsWithinRadius(latitude, longitude, radiusKm, validLimit(limit));
+    }
+
+    /**
+     * Stream restaurants matching a search term
+     */
+    public Flux<RestaurantSummaryResponse> streamSearch(String searchTerm, int limit) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new BusinessException("Search term is required");
+        }
+        return reactiveRestaurantRepository.streamSearchRestaurants(searchTerm.trim(), validLimit(limit));
+    }
+
+    /**
+     * Stream the dishes on a restaurant's menu
+     */
+    public Flux<MenuItemResponse> streamMenu(String tinyId) {
+        return reactiveRestaurantRepository.streamMenu(tinyId);
+    }
+
+    private static int validLimit(int limit) {
+        if (limit <= 0 || limit > MAX_RESULTS) {
+            throw new BusinessException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        return limit;
+    }
+}
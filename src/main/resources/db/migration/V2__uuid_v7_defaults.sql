@@ -0,0 +1,30 @@
+-- Time-ordered (RFC 9562 version 7) UUIDs: a 48-bit millisecond timestamp followed by random
+-- bits. New keys land at the right edge of the primary key and foreign key indexes instead of
+-- on random pages, which avoids page splits and keeps the hot part of each index small.
+--
+-- The application generates the same format itself (TimeOrderedUuidGenerator); these defaults
+-- cover rows inserted directly in SQL, e.g. bulk loads and scripts. Existing v4 keys are left
+-- as they are: they stay valid and rewriting primary keys would cascade through every FK.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS UUID AS $$
+BEGIN
+    -- Overlay the timestamp on a v4 UUID, then flip its version nibble from 4 to 7
+    RETURN encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(uuid_generate_v4())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::UUID;
+END
+$$ LANGUAGE plpgsql VOLATILE;
+
+ALTER TABLE restaurant ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE cuisine_type ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE restaurant_timing ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE dish_category ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE dish ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE dish_tag ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE customization_group ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE customization_option ALTER COLUMN id SET DEFAULT uuid_generate_v7();
@@ -0,0 +1,127 @@
+-- Hash-partition the menu tables by restaurant_id (16 partitions each).
+--
+-- Every menu read is for one restaurant, so with restaurant_id on each table (denormalised
+-- into customization_group, customization_option and dish_tag_mapping) a read touches one
+-- partition and its small local indexes. Vacuum and reindex also work per partition.
+--
+-- Partitioned tables need the partition key in every primary key and unique constraint.
+-- So ids become (restaurant_id, id) and child tables reference their parent through a
+-- composite foreign key. ids remain unique in practice (v7 UUIDs). Plain indexes on id keep
+-- lookups by id (e.g. Hibernate loading a single entity) cheap: one small probe per partition.
+
+-- === New partitioned tables ===
+CREATE TABLE dish_new (
+    id UUID NOT NULL DEFAULT uuid_generate_v7(),
+    restaurant_id UUID NOT NULL,
+    dish_name TEXT NOT NULL,
+    dish_category_id UUID,
+    price NUMERIC(10, 2) NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY HASH (restaurant_id);
+
+CREATE TABLE dish_tag_mapping_new (
+    restaurant_id UUID NOT NULL,
+    dish_id UUID NOT NULL,
+    tag_id UUID NOT NULL
+) PARTITION BY HASH (restaurant_id);
+
+CREATE TABLE customization_group_new (
+    id UUID NOT NULL DEFAULT uuid_generate_v7(),
+    restaurant_id UUID NOT NULL,
+    dish_id UUID NOT NULL,
+    group_name TEXT,
+    type TEXT -- should be either 'direct' or 'extra', differentiating between variants of same dish (hot/cold latte) and sides (fries, coke, etc)
+) PARTITION BY HASH (restaurant_id);
+
+CREATE TABLE customization_option_new (
+    id UUID NOT NULL DEFAULT uuid_generate_v7(),
+    restaurant_id UUID NOT NULL,
+    group_id UUID NOT NULL,
+    option_name TEXT,
+    extra_price NUMERIC(10, 2)
+) PARTITION BY HASH (restaurant_id);
+
+DO $$
+DECLARE
+    parent TEXT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['dish', 'dish_tag_mapping', 'customization_group', 'customization_option'] LOOP
+        FOR remainder IN 0..15 LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                           parent || '_p' || lpad(remainder::TEXT, 2, '0'), parent || '_new', remainder);
+        END LOOP;
+    END LOOP;
+END
+$$;
+
+-- === Copy existing rows (dishes without a restaurant are unreachable and are dropped) ===
+INSERT INTO dish_new (id, restaurant_id, dish_name, dish_category_id, price, description, created_at, updated_at)
+SELECT id, restaurant_id, dish_name, dish_category_id, price, description, created_at, updated_at
+FROM dish
+WHERE restaurant_id IS NOT NULL;
+
+INSERT INTO dish_tag_mapping_new (restaurant_id, dish_id, tag_id)
+SELECT d.restaurant_id, m.dish_id, m.tag_id
+FROM dish_tag_mapping m
+JOIN dish d ON d.id = m.dish_id
+WHERE d.restaurant_id IS NOT NULL;
+
+INSERT INTO customization_group_new (id, restaurant_id, dish_id, group_name, type)
+SELECT g.id, d.restaurant_id, g.dish_id, g.group_name, g.type
+FROM customization_group g
+JOIN dish d ON d.id = g.dish_id
+WHERE d.restaurant_id IS NOT NULL;
+
+INSERT INTO customization_option_new (id, restaurant_id, group_id, option_name, extra_price)
+SELECT o.id, d.restaurant_id, o.group_id, o.option_name, o.extra_price
+FROM customization_option o
+JOIN customization_group g ON g.id = o.group_id
+JOIN dish d ON d.id = g.dish_id
+WHERE d.restaurant_id IS NOT NULL;
+
+-- === Swap ===
+DROP TABLE customization_option;
+DROP TABLE customization_group;
+DROP TABLE dish_tag_mapping;
+DROP TABLE dish;
+
+ALTER TABLE dish_new RENAME TO dish;
+ALTER TABLE dish_tag_mapping_new RENAME TO dish_tag_mapping;
+ALTER TABLE customization_group_new RENAME TO customization_group;
+ALTER TABLE customization_option_new RENAME TO customization_option;
+
+-- === Keys (added after the copy, which is much faster than maintaining them row by row) ===
+ALTER TABLE dish ADD CONSTRAINT dish_pkey PRIMARY KEY (restaurant_id, id);
+ALTER TABLE dish ADD CONSTRAINT dish_restaurant_id_fkey
+    FOREIGN KEY (restaurant_id) REFERENCES restaurant(id) ON DELETE CASCADE;
+ALTER TABLE dish ADD CONSTRAINT dish_dish_category_id_fkey
+    FOREIGN KEY (dish_category_id) REFERENCES dish_category(id) ON DELETE SET NULL;
+
+ALTER TABLE dish_tag_mapping ADD CONSTRAINT dish_tag_mapping_pkey PRIMARY KEY (restaurant_id, dish_id, tag_id);
+ALTER TABLE dish_tag_mapping ADD CONSTRAINT dish_tag_mapping_dish_fkey
+    FOREIGN KEY (restaurant_id, dish_id) REFERENCES dish(restaurant_id, id) ON DELETE CASCADE;
+ALTER TABLE dish_tag_mapping ADD CONSTRAINT dish_tag_mapping_tag_id_fkey
+    FOREIGN KEY (tag_id) REFERENCES dish_tag(id) ON DELETE CASCADE;
+
+ALTER TABLE customization_group ADD CONSTRAINT customization_group_pkey PRIMARY KEY (restaurant_id, id);
+ALTER TABLE customization_group ADD CONSTRAINT customization_group_dish_fkey
+    FOREIGN KEY (restaurant_id, dish_id) REFERENCES dish(restaurant_id, id) ON DELETE CASCADE;
+
+ALTER TABLE customization_option ADD CONSTRAINT customization_option_pkey PRIMARY KEY (restaurant_id, id);
+ALTER TABLE customization_option ADD CONSTRAINT customization_option_group_fkey
+    FOREIGN KEY (restaurant_id, group_id) REFERENCES customization_group(restaurant_id, id) ON DELETE CASCADE;
+
+-- === Indexes (created on every partition) ===
+CREATE INDEX idx_dish_id ON dish(id);
+CREATE INDEX idx_dish_category ON dish(dish_category_id);
+CREATE INDEX idx_dish_tag_mapping_dish ON dish_tag_mapping(dish_id);
+CREATE INDEX idx_customization_group_id ON customization_group(id);
+CREATE INDEX idx_customization_group_dish ON customization_group(dish_id);
+CREATE INDEX idx_customization_option_group ON customization_option(group_id);
+
+ANALYZE dish;
+ANALYZE dish_tag_mapping;
+ANALYZE customization_group;
+ANALYZE customization_option;
@@ -0,0 +1,127 @@
+-- Per-restaurant menu versions and a change log for delta menu sync.
+--
+-- restaurant.menu_version is a counter bumped by every write to the restaurant's menu tables.
+-- Each written row is stamped with the new version, and menu_change_log keeps one entry per
+-- item with the version of its latest change (a tombstone when the item was deleted). Clients
+-- that hold version N ask for entries with version > N.
+--
+-- Bumping locks the restaurant row until the writing transaction ends. Concurrent menu
+-- writes to one restaurant therefore commit in version order, so a client never skips a
+-- version that commits late.
+
+ALTER TABLE restaurant ADD COLUMN menu_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE dish_category ADD COLUMN menu_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE dish ADD COLUMN menu_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE customization_group ADD COLUMN menu_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE customization_option ADD COLUMN menu_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE menu_change_log (
+    restaurant_id UUID NOT NULL REFERENCES restaurant(id) ON DELETE CASCADE,
+    item_type TEXT NOT NULL CHECK (item_type IN ('category', 'dish', 'customization_group', 'customization_option')),
+    item_id UUID NOT NULL,
+    version BIGINT NOT NULL,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (restaurant_id, item_type, item_id)
+);
+
+CREATE INDEX idx_menu_change_log_version ON menu_change_log(restaurant_id, version);
+
+-- Next menu version of a restaurant; NULL if the restaurant is being deleted
+CREATE OR REPLACE FUNCTION next_menu_version(p_restaurant_id UUID) RETURNS BIGINT AS $$
+DECLARE
+    v_version BIGINT;
+BEGIN
+    UPDATE restaurant SET menu_version = menu_version + 1
+    WHERE id = p_restaurant_id
+    RETURNING menu_version INTO v_version;
+    RETURN v_version;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION log_menu_change(p_restaurant_id UUID, p_item_type TEXT, p_item_id UUID,
+                                           p_version BIGINT, p_deleted BOOLEAN) RETURNS VOID AS $$
+BEGIN
+    INSERT INTO menu_change_log (restaurant_id, item_type, item_id, version, deleted)
+    VALUES (p_restaurant_id, p_item_type, p_item_id, p_version, p_deleted)
+    ON CONFLICT (restaurant_id, item_type, item_id)
+    DO UPDATE SET version = EXCLUDED.version, deleted = EXCLUDED.deleted;
+END
+$$ LANGUAGE plpgsql;
+
+-- BEFORE INSERT/UPDATE: stamp the row and log it. A writer may stamp menu_version itself (bulk
+-- statements bump the restaurant once and stamp every row with that version); only rows left
+-- unstamped take the next version. TG_ARGV[0] is the item type.
+CREATE OR REPLACE FUNCTION stamp_menu_version() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' AND NEW.menu_version = 0
+       OR TG_OP = 'UPDATE' AND NEW.menu_version = OLD.menu_version THEN
+        NEW.menu_version := next_menu_version(NEW.restaurant_id);
+        IF NEW.menu_version IS NULL THEN
+            NEW.menu_version := 0;
+            RETURN NEW;
+        END IF;
+    END IF;
+    PERFORM log_menu_change(NEW.restaurant_id, TG_ARGV[0], NEW.id, NEW.menu_version, FALSE);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+-- AFTER DELETE: leave a tombstone. Nothing is logged when the whole restaurant is deleted.
+CREATE OR REPLACE FUNCTION log_menu_delete() RETURNS TRIGGER AS $$
+DECLARE
+    v_version BIGINT;
+BEGIN
+    v_version := next_menu_version(OLD.restaurant_id);
+    IF v_version IS NOT NULL THEN
+        PERFORM log_menu_change(OLD.restaurant_id, TG_ARGV[0], OLD.id, v_version, TRUE);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Tag changes are changes to the dish; nothing is logged when the dish itself is deleted
+CREATE OR REPLACE FUNCTION log_dish_tag_change() RETURNS TRIGGER AS $$
+DECLARE
+    v_mapping dish_tag_mapping;
+    v_version BIGINT;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        v_mapping := NEW;
+    ELSE
+        v_mapping := OLD;
+    END IF;
+    IF EXISTS (SELECT 1 FROM dish WHERE restaurant_id = v_mapping.restaurant_id AND id = v_mapping.dish_id) THEN
+        v_version := next_menu_version(v_mapping.restaurant_id);
+        IF v_version IS NOT NULL THEN
+            PERFORM log_menu_change(v_mapping.restaurant_id, 'dish', v_mapping.dish_id, v_version, FALSE);
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    v_table TEXT;
+    v_item_type TEXT;
+BEGIN
+    FOR v_table, v_item_type IN VALUES
+        ('dish_category', 'category'),
+        ('dish', 'dish'),
+        ('customization_group', 'customization_group'),
+        ('customization_option', 'customization_option')
+    LOOP
+        EXECUTE format('CREATE TRIGGER %I BEFORE INSERT ON %I FOR EACH ROW EXECUTE FUNCTION stamp_menu_version(%L)',
+                       v_table || '_stamp_insert', v_table, v_item_type);
+        -- Rows rewritten with identical values are not menu changes
+        EXECUTE format('CREATE TRIGGER %I BEFORE UPDATE ON %I FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*) '
+                       'EXECUTE FUNCTION stamp_menu_version(%L)',
+                       v_table || '_stamp_update', v_table, v_item_type);
+        EXECUTE format('CREATE TRIGGER %I AFTER DELETE ON %I FOR EACH ROW EXECUTE FUNCTION log_menu_delete(%L)',
+                       v_table || '_log_delete', v_table, v_item_type);
+    END LOOP;
+END
+$$;
+
+CREATE TRIGGER dish_tag_mapping_log_change AFTER INSERT OR DELETE ON dish_tag_mapping
+    FOR EACH ROW EXECUTE FUNCTION log_dish_tag_change();
@@ -0,0 +1,16 @@
+-- Dish availability (in / out of stock), toggled many times a minute during service.
+--
+-- Kept out of the dish row so toggles don't bump updated_at or the menu version, and
+-- aren't menu changes. The application holds the current state in memory and writes it
+-- here behind the toggles; a dish without a row is available.
+CREATE TABLE dish_availability (
+    restaurant_id UUID NOT NULL,
+    dish_id UUID NOT NULL,
+    available BOOLEAN NOT NULL,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (restaurant_id, dish_id),
+    FOREIGN KEY (restaurant_id, dish_id) REFERENCES dish(restaurant_id, id) ON DELETE CASCADE
+);
+
+-- Startup loads only the dishes that are out of stock
+CREATE INDEX idx_dish_availability_unavailable ON dish_availability(restaurant_id) WHERE NOT available;
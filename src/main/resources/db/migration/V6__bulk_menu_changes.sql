@@ -0,0 +1,49 @@
+-- One menu version per bulk menu operation.
+--
+-- Bulk statements stamp menu_version on the dish rows they write, so the row triggers take
+-- that version instead of bumping the restaurant once per row. Tag mappings have no version
+-- column; begin_bulk_menu_change() records the version in transaction-local settings instead,
+-- and the tag trigger uses it for the restaurant it was taken for.
+
+-- Bump the restaurant's menu version once for the rest of the transaction and return it
+CREATE OR REPLACE FUNCTION begin_bulk_menu_change(p_restaurant_id UUID) RETURNS BIGINT AS $$
+DECLARE
+    v_version BIGINT;
+BEGIN
+    v_version := next_menu_version(p_restaurant_id);
+    PERFORM set_config('menu.bulk_restaurant_id', p_restaurant_id::TEXT, TRUE);
+    PERFORM set_config('menu.bulk_version', v_version::TEXT, TRUE);
+    RETURN v_version;
+END
+$$ LANGUAGE plpgsql;
+
+-- Version of the bulk change in progress for a restaurant; NULL outside a bulk change.
+-- Settings read back as '' once their transaction has ended.
+CREATE OR REPLACE FUNCTION bulk_menu_version(p_restaurant_id UUID) RETURNS BIGINT AS $$
+BEGIN
+    IF current_setting('menu.bulk_restaurant_id', TRUE) = p_restaurant_id::TEXT THEN
+        RETURN NULLIF(current_setting('menu.bulk_version', TRUE), '')::BIGINT;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql STABLE;
+
+CREATE OR REPLACE FUNCTION log_dish_tag_change() RETURNS TRIGGER AS $$
+DECLARE
+    v_mapping dish_tag_mapping;
+    v_version BIGINT;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        v_mapping := NEW;
+    ELSE
+        v_mapping := OLD;
+    END IF;
+    IF EXISTS (SELECT 1 FROM dish WHERE restaurant_id = v_mapping.restaurant_id AND id = v_mapping.dish_id) THEN
+        v_version := COALESCE(bulk_menu_version(v_mapping.restaurant_id), next_menu_version(v_mapping.restaurant_id));
+        IF v_version IS NOT NULL THEN
+            PERFORM log_menu_change(v_mapping.restaurant_id, 'dish', v_mapping.dish_id, v_version, FALSE);
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,23 @@
+-- Daily view counts for menu analytics.
+--
+-- Counts are accumulated in memory on each node and added here in batches, so a popular
+-- restaurant costs one row write per flush instead of one per view.
+CREATE TABLE restaurant_view_rollup (
+    restaurant_id UUID NOT NULL REFERENCES restaurant(id) ON DELETE CASCADE,
+    day DATE NOT NULL,
+    qr_scans BIGINT NOT NULL DEFAULT 0,
+    menu_opens BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (restaurant_id, day)
+);
+
+-- Keyed by day before dish, so popular dishes over the last days read one index range
+CREATE TABLE dish_view_rollup (
+    restaurant_id UUID NOT NULL,
+    day DATE NOT NULL,
+    dish_id UUID NOT NULL,
+    clicks BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (restaurant_id, day, dish_id),
+    FOREIGN KEY (restaurant_id, dish_id) REFERENCES dish(restaurant_id, id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_dish_view_rollup_dish ON dish_view_rollup(restaurant_id, dish_id);
@@ -0,0 +1,144 @@
+package org.example.menuapi.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightCacheTest {
+
+    private static final long HOUR_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlightCache<String, Integer> cache = cache(key -> {
+            await(release);
+            return loads.incrementAndGet();
+        }, HOUR_NANOS);
+
+        List<Integer> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                Integer value = cache.get("menu");
+                synchronized (results) {
+                    results.add(value);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        awaitAllBlocked(threads);
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(8).containsOnly(1);
+        assertThat(cache.get("menu")).isEqualTo(1);
+    }
+
+    @Test
+    void loadInvalidatedWhileInFlightAnswersItsCallerButIsNotStored() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlightCache<String, Integer> cache = cache(key -> {
+            int load = loads.incrementAndGet();
+            if (load == 1) {
+                started.countDown();
+                await(release);
+            }
+            return load;
+        }, HOUR_NANOS);
+
+        AtomicInteger firstResult = new AtomicInteger();
+        Thread reader = new Thread(() -> firstResult.set(cache.get("menu")));
+        reader.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cache.invalidate("menu");
+        release.countDown();
+        reader.join();
+
+        assertThat(firstResult).hasValue(1);
+        // The invalidated result was not stored, so the next read loads again
+        assertThat(cache.get("menu")).isEqualTo(2);
+        assertThat(cache.get("menu")).isEqualTo(2);
+    }
+
+    @Test
+    void staleReadsStartOneRefreshBetweenThem() {
+        // Expired on arrival but inside the stale window, so every read asks for a refresh
+        SingleFlightCache<String, Integer> cache = cache(key -> loads.incrementAndGet(), 0);
+
+        assertThat(cache.get("menu")).isEqualTo(1);
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.get("menu")).isEqualTo(1);
+        }
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.remove(0).run();
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.get("menu")).isEqualTo(2);
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        SingleFlightCache<String, Integer> cache = cache(key -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException("database down");
+            }
+            return loads.get();
+        }, HOUR_NANOS);
+
+        assertThatThrownBy(() -> cache.get("menu")).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("menu")).isEqualTo(2);
+        assertThat(cache.get("menu")).isEqualTo(2);
+    }
+
+    /**
+     * Cache whose background refreshes are queued in {@link #refreshes} and run by the test
+     */
+    private SingleFlightCache<String, Integer> cache(Function<String, Integer> loader, long ttlNanos) {
+        return new SingleFlightCache<>("test", loader, refreshes::add, ttlNanos, HOUR_NANOS, 0, 100);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Wait until every thread is blocked: one in the loader, the rest waiting for its result
+     */
+    private static void awaitAllBlocked(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING
+                || thread.getState() == Thread.State.TIMED_WAITING)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Threads did not block in time");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.menuapi.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASELINE_NANOS = Duration.ofMillis(10).toNanos();
+
+    @Test
+    void rejectsOnceTheLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        first.release(true);
+
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    void releasesEachPermitOnce() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 10);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        permit.release(false);
+        permit.release(false);
+        permit.release(true);
+
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        // Only the first release counted as a drop
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void growsWhileLatencyStaysAtTheBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 5, 100);
+
+        sample(limiter, BASELINE_NANOS, 20);
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+
+        sample(limiter, BASELINE_NANOS, 500);
+        assertThat(limiter.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void shrinksWhenLatencyDoublesOverTheBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 200);
+        sample(limiter, BASELINE_NANOS, 100);
+        assertThat(limiter.getLimit()).isEqualTo(200);
+
+        sample(limiter, 2 * BASELINE_NANOS, 50);
+
+        assertThat(limiter.getLimit()).isLessThan(120);
+    }
+
+    @Test
+    void ignoresLatencyAtLowUtilisation() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 200);
+        limiter.onSample(BASELINE_NANOS, 1);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(10 * BASELINE_NANOS, 1);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void dropsNeverTakeTheLimitBelowTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 40);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire().release(false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void rejectsInconsistentBounds() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(5, 10, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(30, 10, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Feed samples taken with the limiter fully utilised
+     */
+    private static void sample(AdaptiveConcurrencyLimiter limiter, long rttNanos, int count) {
+        for (int i = 0; i < count; i++) {
+            limiter.onSample(rttNanos, limiter.getLimit());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.menuapi.limit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.menuapi.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrencyLimitFilterTest {
+
+    private final Map<ConcurrencyLimitFilter.Budget, AdaptiveConcurrencyLimiter> limiters =
+            new EnumMap<>(ConcurrencyLimitFilter.Budget.class);
+    private final List<ConcurrencyLimitFilter.Budget> rejected = new ArrayList<>();
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        for (ConcurrencyLimitFilter.Budget budget : ConcurrencyLimitFilter.Budget.values()) {
+            limiters.put(budget, new AdaptiveConcurrencyLimiter(10, 1, 10));
+        }
+        filter = new ConcurrencyLimitFilter(limiters, rejected::add, 3);
+    }
+
+    @Test
+    void rejectsWith503AndRetryAfterWhenTheBudgetIsFull() throws Exception {
+        AdaptiveConcurrencyLimiter cheap = limiters.get(ConcurrencyLimitFilter.Budget.cheap);
+        for (int i = 0; i < 10; i++) {
+            cheap.tryAcquire();
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("GET", "/api/restaurants/abc123/menu"), response, (req, res) -> {
+            throw new AssertionError("Rejected requests must not reach the handler");
+        });
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+        assertThat(rejected).containsExactly(ConcurrencyLimitFilter.Budget.cheap);
+    }
+
+    @Test
+    void classifiesRequestsIntoBudgets() throws Exception {
+        assertThat(budgetOf("GET", "/api/restaurants/abc123/menu")).isEqualTo(ConcurrencyLimitFilter.Budget.cheap);
+        assertThat(budgetOf("HEAD", "/api/restaurants/abc123")).isEqualTo(ConcurrencyLimitFilter.Budget.cheap);
+        assertThat(budgetOf("GET", "/api/restaurants/stream/search")).isEqualTo(ConcurrencyLimitFilter.Budget.expensive);
+        assertThat(budgetOf("GET", "/api/restaurants/stream/nearby")).isEqualTo(ConcurrencyLimitFilter.Budget.expensive);
+        assertThat(budgetOf("POST", "/api/restaurants/abc123/events")).isEqualTo(ConcurrencyLimitFilter.Budget.cheap);
+        assertThat(budgetOf("POST", "/api/restaurants")).isEqualTo(ConcurrencyLimitFilter.Budget.write);
+        assertThat(budgetOf("PUT", "/api/restaurants/abc123/dishes/availability")).isEqualTo(ConcurrencyLimitFilter.Budget.write);
+    }
+
+    @Test
+    void releasesThePermitWhenTheResponseIsComplete() throws Exception {
+        filter.doFilter(request("GET", "/api/restaurants/abc123"), new MockHttpServletResponse(), (req, res) -> {
+            assertThat(limiters.get(ConcurrencyLimitFilter.Budget.cheap).getInFlight()).isEqualTo(1);
+        });
+
+        assertThat(limiters.get(ConcurrencyLimitFilter.Budget.cheap).getInFlight()).isZero();
+    }
+
+    @Test
+    void holdsThePermitUntilAnAsyncResponseCompletes() throws Exception {
+        AdaptiveConcurrencyLimiter expensive = limiters.get(ConcurrencyLimitFilter.Budget.expensive);
+        MockHttpServletRequest request = request("GET", "/api/restaurants/stream/search");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync(req, res));
+
+        assertThat(expensive.getInFlight()).isEqualTo(1);
+
+        request.getAsyncContext().complete();
+
+        assertThat(expensive.getInFlight()).isZero();
+        assertThat(expensive.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void failuresShrinkTheLimitButBusinessErrorsDoNot() {
+        AdaptiveConcurrencyLimiter write = limiters.get(ConcurrencyLimitFilter.Budget.write);
+        FilterChain businessError = (req, res) -> {
+            throw new BusinessException("Restaurant not found");
+        };
+        FilterChain failure = (req, res) -> {
+            throw new IllegalStateException("connection pool exhausted");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(request("POST", "/api/restaurants"), new MockHttpServletResponse(), businessError))
+                .isInstanceOf(BusinessException.class);
+        assertThat(write.getLimit()).isEqualTo(10);
+
+        assertThatThrownBy(() -> filter.doFilter(request("POST", "/api/restaurants"), new MockHttpServletResponse(), failure))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(write.getLimit()).isEqualTo(9);
+        assertThat(write.getInFlight()).isZero();
+    }
+
+    /**
+     * The budget whose limiter holds a permit while the request is handled
+     */
+    private ConcurrencyLimitFilter.Budget budgetOf(String method, String path) throws Exception {
+        List<ConcurrencyLimitFilter.Budget> holding = new ArrayList<>();
+        filter.doFilter(request(method, path), new MockHttpServletResponse(), (req, res) ->
+                limiters.forEach((budget, limiter) -> {
+                    if (limiter.getInFlight() > 0) {
+                        holding.add(budget);
+                    }
+                }));
+        assertThat(holding).hasSize(1);
+        return holding.get(0);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
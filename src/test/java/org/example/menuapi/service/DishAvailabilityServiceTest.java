@@ -0,0 +1,181 @@
+package org.example.menuapi.service;
+
+import org.example.menuapi.cache.CacheInvalidationBus;
+import org.example.menuapi.cache.CacheRegion;
+import org.example.menuapi.exception.BusinessException;
+import org.example.menuapi.repository.DishAvailabilityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DishAvailabilityServiceTest {
+
+    private static final String TINY_ID = "abc123";
+    private static final UUID RESTAURANT_ID = UUID.randomUUID();
+
+    /**
+     * More than two 64-bit words, so toggles cross word boundaries
+     */
+    private final List<UUID> dishIds = IntStream.range(0, 130).mapToObj(i -> UUID.randomUUID()).sorted().toList();
+
+    private DishAvailabilityRepository repository;
+    private CacheInvalidationBus bus;
+    private DishAvailabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DishAvailabilityRepository.class);
+        bus = mock(CacheInvalidationBus.class);
+        when(repository.findDishRestaurantId(eq(TINY_ID), any())).thenAnswer(invocation ->
+                dishIds.contains(invocation.<UUID>getArgument(1)) ? Optional.of(RESTAURANT_ID) : Optional.empty());
+        when(repository.findDishIds(RESTAURANT_ID)).thenReturn(dishIds);
+        when(repository.findAvailability(RESTAURANT_ID)).thenReturn(Map.of());
+        service = new DishAvailabilityService(repository, bus);
+    }
+
+    @Test
+    void tracksUnavailableDishesAcrossWordBoundaries() {
+        Set<UUID> unavailable = Set.of(dishIds.get(0), dishIds.get(63), dishIds.get(64), dishIds.get(129));
+        unavailable.forEach(dishId -> service.setAvailability(TINY_ID, dishId, false));
+
+        assertThat(service.getUnavailableDishIds(TINY_ID)).isEqualTo(unavailable);
+
+        service.setAvailability(TINY_ID, dishIds.get(64), true);
+
+        assertThat(service.getUnavailableDishIds(TINY_ID))
+                .containsExactlyInAnyOrder(dishIds.get(0), dishIds.get(63), dishIds.get(129));
+        // Loaded once, on the first toggle
+        verify(repository, times(1)).findDishIds(RESTAURANT_ID);
+    }
+
+    @Test
+    void restaurantsWithoutStateHaveEveryDishAvailable() {
+        assertThat(service.getUnavailableDishIds("unknown")).isEmpty();
+    }
+
+    @Test
+    void unknownDishIsRejectedWithoutReloadingTheRestaurant() {
+        service.setAvailability(TINY_ID, dishIds.get(0), false);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> service.setAvailability(TINY_ID, UUID.randomUUID(), false))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageStartingWith("Dish not found");
+        }
+
+        verify(repository, times(1)).findDishIds(RESTAURANT_ID);
+        verify(repository, times(1)).findAvailability(RESTAURANT_ID);
+    }
+
+    @Test
+    void flushWritesTheLatestStateOfEachDirtyDishOnceAndNotifiesPeersOnly() {
+        UUID dishId = dishIds.get(5);
+        service.setAvailability(TINY_ID, dishId, false);
+        service.setAvailability(TINY_ID, dishId, true);
+        service.setAvailability(TINY_ID, dishId, false);
+
+        service.flush();
+
+        List<Object[]> rows = captureUpserts(1).get(0);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsExactly(RESTAURANT_ID, dishId, false);
+        verify(bus).publishToPeers(CacheRegion.availability, TINY_ID);
+        verify(bus, never()).publish(any(), anyString());
+
+        // Nothing dirty: no write
+        service.flush();
+        verify(repository, times(1)).upsertAll(any());
+    }
+
+    @Test
+    void failedFlushIsRetriedOnTheNextOne() {
+        UUID dishId = dishIds.get(70);
+        service.setAvailability(TINY_ID, dishId, false);
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .doNothing()
+                .when(repository).upsertAll(any());
+
+        service.flush();
+        service.flush();
+
+        List<List<Object[]>> batches = captureUpserts(2);
+        assertThat(batches.get(1)).hasSize(1);
+        assertThat(batches.get(1).get(0)).containsExactly(RESTAURANT_ID, dishId, false);
+        verify(bus, times(1)).publishToPeers(CacheRegion.availability, TINY_ID);
+    }
+
+    @Test
+    void reloadKeepsTogglesThatAreNotFlushedYet() {
+        UUID toggled = dishIds.get(1);
+        UUID storedUnavailable = dishIds.get(2);
+        service.setAvailability(TINY_ID, toggled, false);
+
+        // Another node flushed its own toggle; the stored row of this node's toggle is still old
+        when(repository.findAvailability(RESTAURANT_ID)).thenReturn(Map.of(toggled, true, storedUnavailable, false));
+        service.evict(CacheRegion.availability, Set.of(TINY_ID));
+
+        assertThat(service.getUnavailableDishIds(TINY_ID)).containsExactlyInAnyOrder(toggled, storedUnavailable);
+    }
+
+    @Test
+    void dropsRestaurantsThatStayIdleWithEveryDishAvailable() {
+        service.setAvailability(TINY_ID, dishIds.get(3), false);
+        service.setAvailability(TINY_ID, dishIds.get(3), true);
+        for (int i = 0; i <= DishAvailabilityService.IDLE_FLUSHES_BEFORE_REMOVAL; i++) {
+            service.flush();
+        }
+
+        // Dropped, so the next toggle loads the restaurant again
+        service.setAvailability(TINY_ID, dishIds.get(3), false);
+
+        verify(repository, times(2)).findDishIds(RESTAURANT_ID);
+        assertThat(service.getUnavailableDishIds(TINY_ID)).containsExactly(dishIds.get(3));
+    }
+
+    @Test
+    void keepsRestaurantsWithUnavailableDishes() {
+        service.setAvailability(TINY_ID, dishIds.get(3), false);
+        for (int i = 0; i <= 2 * DishAvailabilityService.IDLE_FLUSHES_BEFORE_REMOVAL; i++) {
+            service.flush();
+        }
+
+        assertThat(service.getUnavailableDishIds(TINY_ID)).containsExactly(dishIds.get(3));
+        service.setAvailability(TINY_ID, dishIds.get(4), false);
+        verify(repository, times(1)).findDishIds(RESTAURANT_ID);
+    }
+
+    @Test
+    void ignoresOtherRegions() {
+        service.evict(CacheRegion.menu, Set.of(TINY_ID));
+
+        verify(repository, never()).findDishIds(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> captureUpserts(int times) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(times)).upsertAll(captor.capture());
+        return new ArrayList<>(captor.getAllValues());
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.menuapi.service;
+
+import org.example.menuapi.dto.MenuEventRequest;
+import org.example.menuapi.exception.BusinessException;
+import org.example.menuapi.repository.MenuAnalyticsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class MenuAnalyticsServiceTest {
+
+    private static final String TINY_ID = "abc123";
+    private static final UUID DISH_ID = UUID.randomUUID();
+
+    private MenuAnalyticsRepository repository;
+    private MenuCache menuCache;
+    private MenuAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MenuAnalyticsRepository.class);
+        menuCache = mock(MenuCache.class);
+        when(menuCache.getDishIds(TINY_ID)).thenReturn(Set.of(DISH_ID));
+        when(menuCache.getDishIds("unknown")).thenThrow(new BusinessException("Restaurant not found: unknown"));
+        service = new MenuAnalyticsService(repository, menuCache, 7, 50, 30_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void flushAddsTheCountsSinceTheLastFlushInOneBatch() {
+        service.recordMenuOpen(TINY_ID);
+        service.recordMenuOpen(TINY_ID);
+        service.recordMenuOpen(TINY_ID);
+        service.recordEvent(TINY_ID, event(MenuEventRequest.EventType.qr_scan, null));
+        service.recordEvent(TINY_ID, event(MenuEventRequest.EventType.dish_click, DISH_ID));
+        service.recordEvent(TINY_ID, event(MenuEventRequest.EventType.dish_click, DISH_ID));
+
+        service.flush();
+
+        List<Batch> batches = captureBatches(1);
+        assertThat(batches.get(0).restaurantRows()).singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(TINY_ID, 1L, 3L));
+        assertThat(batches.get(0).dishRows()).singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(TINY_ID, DISH_ID, 2L));
+
+        // Drained: nothing left to write
+        service.flush();
+        verify(repository, times(1)).addCounts(any(), any());
+    }
+
+    @Test
+    void failedFlushPutsTheCountsBackForTheNextOne() {
+        service.recordMenuOpen(TINY_ID);
+        service.recordEvent(TINY_ID, event(MenuEventRequest.EventType.dish_click, DISH_ID));
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .doNothing()
+                .when(repository).addCounts(any(), any());
+
+        service.flush();
+        service.recordMenuOpen(TINY_ID);
+        service.flush();
+
+        List<Batch> batches = captureBatches(2);
+        assertThat(batches.get(1).restaurantRows()).singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(TINY_ID, 0L, 2L));
+        assertThat(batches.get(1).dishRows()).singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(TINY_ID, DISH_ID, 1L));
+    }
+
+    @Test
+    void flushWritesRowsInTinyIdAndDishIdOrder() {
+        UUID firstDish = new UUID(0, 1);
+        UUID secondDish = new UUID(0, 2);
+        when(menuCache.getDishIds("aaa111")).thenReturn(Set.of(firstDish, secondDish));
+        service.recordMenuOpen(TINY_ID);
+        service.recordMenuOpen("zzz999");
+        service.recordMenuOpen("aaa111");
+        service.recordEvent(TINY_ID, event(MenuEventRequest.EventType.dish_click, DISH_ID));
+        service.recordEvent("aaa111", event(MenuEventRequest.EventType.dish_click, secondDish));
+        service.recordEvent("aaa111", event(MenuEventRequest.EventType.dish_click, firstDish));
+
+        service.flush();
+
+        Batch batch = captureBatches(1).get(0);
+        assertThat(batch.restaurantRows()).extracting(row -> row[0])
+                .containsExactly("aaa111", TINY_ID, "zzz999");
+        assertThat(batch.dishRows()).extracting(row -> row[1])
+                .containsExactly(firstDish, secondDish, DISH_ID);
+    }
+
+    @Test
+    void idleCountersAreRemovedWithoutLosingLaterViews() {
+        service.recordMenuOpen(TINY_ID);
+        service.flush();
+        for (int i = 0; i < 12; i++) {
+            service.flush();
+        }
+
+        service.recordMenuOpen(TINY_ID);
+        service.flush();
+
+        List<Batch> batches = captureBatches(2);
+        assertThat(batches.get(1).restaurantRows()).singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(TINY_ID, 0L, 1L));
+    }
+
+    @Test
+    void rejectsUnknownDishesAndRestaurantsWithoutTouchingTheDatabase() {
+        assertThatThrownBy(() -> service.recordEvent(TINY_ID, event(MenuEventRequest.EventType.dish_click, UUID.randomUUID())))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("Dish not found");
+        assertThatThrownBy(() -> service.recordEvent(TINY_ID, event(MenuEventRequest.EventType.dish_click, null)))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> service.recordEvent("unknown", event(MenuEventRequest.EventType.qr_scan, null)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("Restaurant not found");
+
+        service.flush();
+
+        verifyNoInteractions(repository);
+        verify(menuCache, never()).getMenu(any());
+    }
+
+    private record Batch(List<Object[]> restaurantRows, List<Object[]> dishRows) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Batch> captureBatches(int times) {
+        ArgumentCaptor<List<Object[]>> restaurantRows = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Object[]>> dishRows = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(times)).addCounts(restaurantRows.capture(), dishRows.capture());
+        List<Batch> batches = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            batches.add(new Batch(restaurantRows.getAllValues().get(i), dishRows.getAllValues().get(i)));
+        }
+        return batches;
+    }
+
+    private static MenuEventRequest event(MenuEventRequest.EventType type, UUID dishId) {
+        return MenuEventRequest.builder().type(type).dishId(dishId).build();
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.menuapi.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.example.menuapi.dto.CreateRestaurantRequest;
+import org.example.menuapi.entity.CuisineType;
+import org.example.menuapi.repository.CuisineTypeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs in a test transaction that is rolled back, so nothing is left in the database; the
+ * pending inserts are flushed explicitly before counting. The cached cuisine lookup needs
+ * committed transactions, so that test cleans up after itself instead.
+ */
+@SpringBootTest
+@Transactional
+public class RestaurantServiceStatementCountTest {
+
+    /**
+     * 1. duplicate-name check
+     * 2. tiny id check
+     * 3. one lookup of all cuisine names
+     * 4. batched insert into cuisine_type (both new cuisines)
+     * 5. insert into restaurant
+     * 6. batched insert into restaurant_timing
+     * 7. batched insert into the restaurant cuisine mapping
+     */
+    private static final long ONBOARDING_STATEMENTS = 7;
+
+    /**
+     * Without the cuisine lookup (query cache) and the cuisine inserts (they already exist)
+     */
+    private static final long ONBOARDING_STATEMENTS_WITH_KNOWN_CUISINES = 5;
+
+    private static final String CUISINE_LOOKUP = "SELECT c FROM CuisineType c WHERE LOWER(c.name) IN :names";
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CuisineTypeRepository cuisineTypeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void onboardingStatementCountDoesNotGrowWithTimings() {
+        long withOneTiming = countStatements(request(1, UUID.randomUUID().toString()));
+        long withAllTimings = countStatements(request(7, UUID.randomUUID().toString()));
+
+        assertThat(withOneTiming).isEqualTo(ONBOARDING_STATEMENTS);
+        assertThat(withAllTimings).isEqualTo(ONBOARDING_STATEMENTS);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void knownCuisinesAreLookedUpFromTheQueryCache() {
+        String suffix = UUID.randomUUID().toString();
+        try {
+            cuisineTypeRepository.save(CuisineType.builder().name("Cuisine A " + suffix).build());
+            cuisineTypeRepository.save(CuisineType.builder().name("Cuisine B " + suffix).build());
+            // Caches the lookup of these cuisines
+            restaurantService.createRestaurant(request(1, suffix));
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            restaurantService.createRestaurant(request(1, suffix));
+
+            assertThat(statistics.getQueryStatistics(CUISINE_LOOKUP).getExecutionCount()).isZero();
+            assertThat(statistics.getQueryStatistics(CUISINE_LOOKUP).getCacheHitCount()).isEqualTo(1);
+            assertThat(statistics.getEntityStatistics(CuisineType.class.getName()).getFetchCount()).isZero();
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(ONBOARDING_STATEMENTS_WITH_KNOWN_CUISINES);
+        } finally {
+            jdbcTemplate.update("DELETE FROM restaurant WHERE restaurant_name LIKE ?", "% " + suffix);
+            jdbcTemplate.update("DELETE FROM cuisine_type WHERE name LIKE ?", "% " + suffix);
+        }
+    }
+
+    private long countStatements(CreateRestaurantRequest request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        restaurantService.createRestaurant(request);
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    /**
+     * Names unique to the suffix, so a new suffix creates two new cuisines and never hits the caches
+     */
+    private static CreateRestaurantRequest request(int days, String suffix) {
+        List<CreateRestaurantRequest.RestaurantTimingRequest> timings = Arrays.stream(
+                        new String[]{"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"})
+                .limit(days)
+                .map(day -> CreateRestaurantRequest.RestaurantTimingRequest.builder()
+                        .dayOfWeek(day)
+                        .openTime(LocalTime.of(9, 0))
+                        .closeTime(LocalTime.of(22, 0))
+                        .build())
+                .toList();
+
+        return CreateRestaurantRequest.builder()
+                .restaurantName("Statement Count " + UUID.randomUUID() + " " + suffix)
+                .city("Pune")
+                .state("Maharashtra")
+                .pincode("411001")
+                .latitude(new BigDecimal("18.520400"))
+                .longitude(new BigDecimal("73.856700"))
+                .cuisineTypes(Set.of("Cuisine A " + suffix, "Cuisine B " + suffix))
+                .timings(timings)
+                .build();
+    }
+}